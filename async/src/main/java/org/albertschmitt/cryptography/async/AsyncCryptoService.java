@@ -0,0 +1,421 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.async;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.RSAService.KEYSIZE;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+import org.albertschmitt.cryptography.support.RSAService4K;
+
+/**
+ * Run AES and RSA operations off the caller's thread.
+ * <p>
+ * Every method returns at once with a CompletableFuture, so a request
+ * handler never parks a platform thread on a 4096-bit RSA decrypt or a large
+ * AES stream. Work runs on virtual threads unless another executor is given.
+ * AESService and RSAService instances are pooled and reused across tasks,
+ * since virtual threads are too short lived for thread-local engines.</p>
+ * <p>
+ * At most maxInFlight operations are accepted at once; past that the
+ * returned future fails with RejectedExecutionException so the caller can
+ * shed load instead of queueing without bound. Cancelling a future
+ * interrupts its operation, and stream operations stop at their next read.
+ * A cancelled operation that has already started counts against the limit
+ * until it actually returns.</p>
+ */
+public class AsyncCryptoService implements AutoCloseable
+{
+
+	/**
+	 * Default limit on operations in flight.
+	 */
+	public static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+
+	private final byte[] aesKey;
+	private final KEYSIZE keysize;
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+	private final int maxInFlight;
+	private final Semaphore permits;
+	private final Queue<AESService> aesEngines = new ConcurrentLinkedQueue<>();
+	private final Queue<RSAService> rsaEngines = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Create a service that runs on virtual threads.
+	 *
+	 * @param aes The AESService whose key is used by the AES operations.
+	 * @param keysize The RSA key size.
+	 */
+	public AsyncCryptoService(AESService aes, KEYSIZE keysize)
+	{
+		this(aes, keysize, Executors.newVirtualThreadPerTaskExecutor(), true, DEFAULT_MAX_IN_FLIGHT);
+	}
+
+	/**
+	 * Create a service that runs on the given executor. The executor is not
+	 * shut down by close.
+	 *
+	 * @param aes The AESService whose key is used by the AES operations.
+	 * @param keysize The RSA key size.
+	 * @param executor The executor operations run on.
+	 * @param maxInFlight The most operations accepted at once.
+	 */
+	public AsyncCryptoService(AESService aes, KEYSIZE keysize, ExecutorService executor, int maxInFlight)
+	{
+		this(aes, keysize, executor, false, maxInFlight);
+	}
+
+	private AsyncCryptoService(AESService aes, KEYSIZE keysize, ExecutorService executor, boolean ownsExecutor, int maxInFlight)
+	{
+		if (maxInFlight <= 0)
+		{
+			throw new IllegalArgumentException("Max in flight must be positive.");
+		}
+		this.aesKey = aes.getAesKey().clone();
+		this.keysize = keysize;
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+		this.maxInFlight = maxInFlight;
+		this.permits = new Semaphore(maxInFlight);
+	}
+
+	/**
+	 * Encrypt a byte array with AES.
+	 *
+	 * @param data The bytes to encrypt.
+	 * @return The future encrypted bytes.
+	 */
+	public CompletableFuture<byte[]> encode(byte[] data)
+	{
+		return withAES(aes -> aes.encode(data));
+	}
+
+	/**
+	 * Encrypt a String with AES.
+	 *
+	 * @param data The String to encrypt.
+	 * @return The future encrypted bytes.
+	 */
+	public CompletableFuture<byte[]> encode(String data)
+	{
+		return withAES(aes -> aes.encode(data));
+	}
+
+	/**
+	 * Decrypt a byte array with AES.
+	 *
+	 * @param data The bytes to decrypt.
+	 * @return The future decrypted bytes.
+	 */
+	public CompletableFuture<byte[]> decode(byte[] data)
+	{
+		return withAES(aes -> aes.decode(data));
+	}
+
+	/**
+	 * Encrypt a stream with AES.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the encrypted bytes are written to.
+	 * @return A future that completes when the stream is done.
+	 */
+	public CompletableFuture<Void> encode(InputStream instream, OutputStream outstream)
+	{
+		return withAES(aes ->
+		{
+			aes.encode(new InterruptibleInputStream(instream), outstream);
+			return null;
+		});
+	}
+
+	/**
+	 * Decrypt a stream with AES.
+	 *
+	 * @param instream The stream to decrypt.
+	 * @param outstream The stream the decrypted bytes are written to.
+	 * @return A future that completes when the stream is done.
+	 */
+	public CompletableFuture<Void> decode(InputStream instream, OutputStream outstream)
+	{
+		return withAES(aes ->
+		{
+			aes.decode(new InterruptibleInputStream(instream), outstream);
+			return null;
+		});
+	}
+
+	/**
+	 * Encrypt a byte array with RSA.
+	 *
+	 * @param data The bytes to encrypt.
+	 * @param key The public key.
+	 * @return The future encrypted bytes.
+	 */
+	public CompletableFuture<byte[]> encode(byte[] data, RSAPublicKey key)
+	{
+		return withRSA(rsa -> rsa.encode(data, key));
+	}
+
+	/**
+	 * Decrypt a byte array with RSA.
+	 *
+	 * @param data The bytes to decrypt.
+	 * @param key The private key.
+	 * @return The future decrypted bytes.
+	 */
+	public CompletableFuture<byte[]> decode(byte[] data, RSAPrivateKey key)
+	{
+		return withRSA(rsa -> rsa.decode(data, key));
+	}
+
+	/**
+	 * Encrypt a stream with RSA.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the encrypted bytes are written to.
+	 * @param key The public key.
+	 * @return A future that completes when the stream is done.
+	 */
+	public CompletableFuture<Void> encode(InputStream instream, OutputStream outstream, RSAPublicKey key)
+	{
+		return withRSA(rsa ->
+		{
+			rsa.encode(new InterruptibleInputStream(instream), outstream, key);
+			return null;
+		});
+	}
+
+	/**
+	 * Decrypt a stream with RSA.
+	 *
+	 * @param instream The stream to decrypt.
+	 * @param outstream The stream the decrypted bytes are written to.
+	 * @param key The private key.
+	 * @return A future that completes when the stream is done.
+	 */
+	public CompletableFuture<Void> decode(InputStream instream, OutputStream outstream, RSAPrivateKey key)
+	{
+		return withRSA(rsa ->
+		{
+			rsa.decode(new InterruptibleInputStream(instream), outstream, key);
+			return null;
+		});
+	}
+
+	/**
+	 * Run any other blocking crypto work under the same executor, limit and
+	 * cancellation rules.
+	 *
+	 * @param <T> The result type.
+	 * @param task The work to run.
+	 * @return The future result.
+	 */
+	public <T> CompletableFuture<T> submit(Callable<T> task)
+	{
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		if (!permits.tryAcquire())
+		{
+			result.completeExceptionally(new RejectedExecutionException(maxInFlight + " operations already in flight."));
+			return result;
+		}
+
+		// Whoever sets started first owns the permit: the task, which
+		// releases it when the operation returns, or a cancellation that
+		// stops the task before it ever runs. A running operation ignores
+		// interrupts, so its permit must not come back until it returns.
+		final AtomicBoolean started = new AtomicBoolean();
+		final FutureTask<Void> work = new FutureTask<>(() ->
+		{
+			if (!started.compareAndSet(false, true))
+			{
+				return null;
+			}
+			T value = null;
+			Throwable failure = null;
+			try
+			{
+				value = task.call();
+			}
+			catch (Throwable ex)
+			{
+				failure = ex;
+			}
+			finally
+			{
+				// Release before completing so a caller that sees the result
+				// also sees the permit back.
+				permits.release();
+			}
+			if (failure != null)
+			{
+				result.completeExceptionally(failure);
+			}
+			else
+			{
+				result.complete(value);
+			}
+			return null;
+		});
+		// Cancelling the returned future interrupts the running operation, or
+		// keeps a queued one from starting.
+		result.whenComplete((value, ex) ->
+		{
+			if (result.isCancelled() && work.cancel(true) && started.compareAndSet(false, true))
+			{
+				permits.release();
+			}
+		});
+
+		try
+		{
+			executor.execute(work);
+		}
+		catch (RejectedExecutionException ex)
+		{
+			permits.release();
+			result.completeExceptionally(ex);
+		}
+		return result;
+	}
+
+	/**
+	 * @return The number of operations accepted and not yet finished.
+	 */
+	public int getInFlight()
+	{
+		return maxInFlight - permits.availablePermits();
+	}
+
+	/**
+	 * Stop accepting work. Operations in flight finish first. An executor
+	 * passed in by the caller is left running.
+	 */
+	@Override
+	public void close()
+	{
+		if (ownsExecutor)
+		{
+			executor.close();
+		}
+	}
+
+	private interface Operation<S, T>
+	{
+
+		T apply(S service) throws Exception;
+	}
+
+	private <T> CompletableFuture<T> withAES(Operation<AESService, T> operation)
+	{
+		return submit(() ->
+		{
+			AESService aes = aesEngines.poll();
+			if (aes == null)
+			{
+				aes = new AESService();
+				aes.setAesKey(aesKey.clone());
+			}
+			try
+			{
+				return operation.apply(aes);
+			}
+			finally
+			{
+				aesEngines.offer(aes);
+			}
+		});
+	}
+
+	private <T> CompletableFuture<T> withRSA(Operation<RSAService, T> operation)
+	{
+		return submit(() ->
+		{
+			RSAService rsa = rsaEngines.poll();
+			if (rsa == null)
+			{
+				rsa = new RSAService4K(keysize);
+			}
+			try
+			{
+				return operation.apply(rsa);
+			}
+			finally
+			{
+				rsaEngines.offer(rsa);
+			}
+		});
+	}
+
+	/**
+	 * Lets a cancelled stream operation stop at its next read, since the
+	 * services themselves never check for interruption.
+	 */
+	private static class InterruptibleInputStream extends FilterInputStream
+	{
+
+		InterruptibleInputStream(InputStream in)
+		{
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException
+		{
+			checkInterrupted();
+			return super.read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException
+		{
+			checkInterrupted();
+			return super.read(b, off, len);
+		}
+
+		private static void checkInterrupted() throws InterruptedIOException
+		{
+			if (Thread.currentThread().isInterrupted())
+			{
+				throw new InterruptedIOException("Operation was cancelled.");
+			}
+		}
+	}
+}
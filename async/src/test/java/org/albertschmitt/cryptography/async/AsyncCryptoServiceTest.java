@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.RSAService.KEYSIZE;
+import org.junit.jupiter.api.Test;
+
+public class AsyncCryptoServiceTest
+{
+
+	@Test
+	public void cancelledQueuedTaskReleasesItsPermit() throws Exception
+	{
+		final AESService aes = new AESService();
+		aes.generateKey();
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try (AsyncCryptoService service = new AsyncCryptoService(aes, KEYSIZE.RSA_2K, executor, 2))
+		{
+			// Occupy the only thread so the next task stays queued.
+			final CountDownLatch running = new CountDownLatch(1);
+			final CountDownLatch proceed = new CountDownLatch(1);
+			CompletableFuture<Void> blocker = service.submit(() ->
+			{
+				running.countDown();
+				proceed.await();
+				return null;
+			});
+			assertTrue(running.await(10, TimeUnit.SECONDS));
+
+			CompletableFuture<Void> queued = service.submit(() -> null);
+			assertEquals(2, service.getInFlight());
+			assertTrue(queued.cancel(true));
+			assertEquals(1, service.getInFlight());
+
+			proceed.countDown();
+			blocker.get(10, TimeUnit.SECONDS);
+			assertEquals(0, service.getInFlight());
+
+			// With every permit back, the full limit is accepted again.
+			CompletableFuture<Void> first = service.submit(() -> null);
+			CompletableFuture<Void> second = service.submit(() -> null);
+			first.get(10, TimeUnit.SECONDS);
+			second.get(10, TimeUnit.SECONDS);
+			assertEquals(0, service.getInFlight());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void cancelledRunningTaskKeepsItsPermitUntilItReturns() throws Exception
+	{
+		final AESService aes = new AESService();
+		aes.generateKey();
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try (AsyncCryptoService service = new AsyncCryptoService(aes, KEYSIZE.RSA_2K, executor, 1))
+		{
+			// Like the AES and RSA byte[] operations, this task ignores interrupts.
+			final CountDownLatch running = new CountDownLatch(1);
+			final AtomicBoolean proceed = new AtomicBoolean();
+			CompletableFuture<Void> task = service.submit(() ->
+			{
+				running.countDown();
+				while (!proceed.get())
+				{
+					Thread.onSpinWait();
+				}
+				return null;
+			});
+			assertTrue(running.await(10, TimeUnit.SECONDS));
+
+			assertTrue(task.cancel(true));
+			assertEquals(1, service.getInFlight());
+			CompletableFuture<Void> rejected = service.submit(() -> null);
+			ExecutionException ex = assertThrows(ExecutionException.class, () -> rejected.get(10, TimeUnit.SECONDS));
+			assertTrue(ex.getCause() instanceof RejectedExecutionException);
+
+			proceed.set(true);
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (service.getInFlight() != 0 && System.nanoTime() < deadline)
+			{
+				Thread.sleep(10);
+			}
+			assertEquals(0, service.getInFlight());
+			service.submit(() -> null).get(10, TimeUnit.SECONDS);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+}
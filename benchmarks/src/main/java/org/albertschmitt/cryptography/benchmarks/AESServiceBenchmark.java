@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.AESService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput and latency of the AESService byte[], String and stream
+ * overloads from 64 bytes to 64 MB. The byte[] and String overloads need
+ * several copies of the payload in memory, so 1 GB streams are measured on
+ * their own by AESServiceStreamBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(
+{
+	Mode.Throughput, Mode.SampleTime
+})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend =
+{
+	"-Xms2g", "-Xmx2g"
+})
+public class AESServiceBenchmark
+{
+
+	@Param(
+	{
+		"64", "1024", "65536", "1048576", "67108864"
+	})
+	public int size;
+
+	private AESService aes;
+	private byte[] data;
+	private String text;
+	private byte[] encoded;
+	private byte[] encodedStream;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		aes = new AESService();
+		aes.generateKey();
+
+		data = Payloads.bytes(size);
+		text = new String(data, "UTF-8");
+		encoded = aes.encode(data);
+
+		ByteArrayOutputStream outstream = new ByteArrayOutputStream(size + 64);
+		aes.encode(new ByteArrayInputStream(data), outstream);
+		encodedStream = outstream.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] encodeBytes() throws Exception
+	{
+		return aes.encode(data);
+	}
+
+	@Benchmark
+	public byte[] encodeString() throws Exception
+	{
+		return aes.encode(text);
+	}
+
+	@Benchmark
+	public byte[] decodeBytes() throws Exception
+	{
+		return aes.decode(encoded);
+	}
+
+	@Benchmark
+	public long encodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		aes.encode(new ByteArrayInputStream(data), outstream);
+		return outstream.getCount();
+	}
+
+	@Benchmark
+	public long decodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		aes.decode(new ByteArrayInputStream(encodedStream), outstream);
+		return outstream.getCount();
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.AESService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The AESService stream overloads on 1 GB payloads. Only the plaintext and
+ * one copy of the ciphertext are held, about 2 GB live, and each invocation
+ * allocates no more than the stream buffers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend =
+{
+	"-Xms4g", "-Xmx4g"
+})
+public class AESServiceStreamBenchmark
+{
+
+	@Param(
+	{
+		"1073741824"
+	})
+	public int size;
+
+	private AESService aes;
+	private byte[] data;
+	private EncodedBuffer encoded;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		aes = new AESService();
+		aes.generateKey();
+
+		data = Payloads.bytes(size);
+		encoded = new EncodedBuffer(size + 64);
+		aes.encode(new ByteArrayInputStream(data), encoded);
+	}
+
+	@Benchmark
+	public long encodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		aes.encode(new ByteArrayInputStream(data), outstream);
+		return outstream.getCount();
+	}
+
+	@Benchmark
+	public long decodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		aes.decode(encoded.toInputStream(), outstream);
+		return outstream.getCount();
+	}
+
+	/**
+	 * Reads the ciphertext back in place, since toByteArray would need a
+	 * second 1 GB copy.
+	 */
+	private static class EncodedBuffer extends ByteArrayOutputStream
+	{
+
+		EncodedBuffer(int size)
+		{
+			super(size);
+		}
+
+		ByteArrayInputStream toInputStream()
+		{
+			return new ByteArrayInputStream(buf, 0, count);
+		}
+	}
+}
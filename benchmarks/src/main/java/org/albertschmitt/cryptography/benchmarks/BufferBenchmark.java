@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.cryptography.support.AESBufferService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Message sized AES through the allocating AESService byte[] overloads and
+ * through AESBufferService with reused direct buffers. Run with -prof gc to
+ * see the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BufferBenchmark
+{
+
+	@Param(
+	{
+		"64", "1024", "16384"
+	})
+	public int size;
+
+	private AESService aes;
+	private AESBufferService buffers;
+	private byte[] data;
+	private ByteBuffer plain;
+	private ByteBuffer cipher;
+	private ByteBuffer decoded;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		aes = new AESService();
+		aes.generateKey();
+		buffers = new AESBufferService(aes);
+
+		data = Payloads.bytes(size);
+		plain = ByteBuffer.allocateDirect(size);
+		plain.put(data).flip();
+		cipher = ByteBuffer.allocateDirect(AESBufferService.getEncodeOutputSize(size));
+		decoded = ByteBuffer.allocateDirect(AESBufferService.getDecodeOutputSize(cipher.capacity()));
+	}
+
+	@Benchmark
+	public byte[] roundTripBytes() throws Exception
+	{
+		return aes.decode(aes.encode(data));
+	}
+
+	@Benchmark
+	public int roundTripBuffers() throws Exception
+	{
+		plain.rewind();
+		cipher.clear();
+		buffers.encode(plain, cipher);
+		cipher.flip();
+		decoded.clear();
+		return buffers.decode(cipher, decoded);
+	}
+}
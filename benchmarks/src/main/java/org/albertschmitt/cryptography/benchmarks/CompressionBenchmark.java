@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.cryptography.support.CompressedAESService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time and bytes written by AESService stream encryption with and without
+ * a compression stage, for text and for incompressible random data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CompressionBenchmark
+{
+
+	@Param(
+	{
+		"1048576", "67108864"
+	})
+	public int size;
+
+	@Param(
+	{
+		"text", "random"
+	})
+	public String content;
+
+	@Param(
+	{
+		"1", "6", "9"
+	})
+	public int level;
+
+	private AESService aes;
+	private CompressedAESService compressed;
+	private byte[] data;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		aes = new AESService();
+		aes.generateKey();
+		compressed = new CompressedAESService(aes, level);
+		if ("random".equals(content))
+		{
+			data = new byte[size];
+			new Random(size).nextBytes(data);
+		}
+		else
+		{
+			data = Payloads.bytes(size);
+		}
+	}
+
+	/**
+	 * Reports the ciphertext size next to the timing.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Written
+	{
+
+		public long bytes;
+
+		@Setup(Level.Iteration)
+		public void reset()
+		{
+			bytes = 0;
+		}
+	}
+
+	@Benchmark
+	public long encodeStream(Written written) throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		aes.encode(new ByteArrayInputStream(data), outstream);
+		written.bytes += outstream.getCount();
+		return outstream.getCount();
+	}
+
+	@Benchmark
+	public long encodeCompressedStream(Written written) throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		compressed.encode(new ByteArrayInputStream(data), outstream);
+		written.bytes += outstream.getCount();
+		return outstream.getCount();
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+import org.albertschmitt.cryptography.support.ConcurrentAESService;
+import org.albertschmitt.cryptography.support.ConcurrentRSAService;
+import org.albertschmitt.cryptography.support.RSAKeyPair;
+
+/**
+ * Stress ConcurrentAESService and ConcurrentRSAService from 1 to 64 threads
+ * sharing one instance. Every thread round trips its own random messages and
+ * checks the result, so a race shows up as a mismatch, and the ops/s column
+ * shows how throughput scales with threads.
+ * <p>
+ * Run with: java -cp target/benchmarks.jar
+ * org.albertschmitt.cryptography.benchmarks.ConcurrencyStress [seconds]</p>
+ */
+public class ConcurrencyStress
+{
+
+	private static final int[] THREADS =
+	{
+		1, 2, 4, 8, 16, 32, 64
+	};
+	private static final int AES_MESSAGE_SIZE = 4096;
+	private static final int RSA_MESSAGE_SIZE = 128;
+
+	public static void main(String[] args) throws Exception
+	{
+		final long millis = (args.length > 0 ? Long.parseLong(args[0]) : 5) * 1000;
+
+		AESService key = new AESService();
+		key.generateKey();
+		final ConcurrentAESService aes = new ConcurrentAESService(key);
+
+		final ConcurrentRSAService rsa = new ConcurrentRSAService();
+		RSAKeyPair pair = RSAKeyPair.generate(new RSAService());
+		final RSAPrivateKey privateKey = pair.getPrivateKey();
+		final RSAPublicKey publicKey = pair.getPublicKey();
+
+		System.out.println("service  threads      ops/s   failures");
+		boolean ok = true;
+		for (int threads : THREADS)
+		{
+			ok &= run("AES", threads, millis, new RoundTrip()
+			{
+				@Override
+				public boolean roundTrip(Random random) throws Exception
+				{
+					byte[] data = new byte[AES_MESSAGE_SIZE];
+					random.nextBytes(data);
+					return Arrays.equals(data, aes.decode(aes.encode(data)));
+				}
+			});
+		}
+		for (int threads : THREADS)
+		{
+			ok &= run("RSA", threads, millis, new RoundTrip()
+			{
+				@Override
+				public boolean roundTrip(Random random) throws Exception
+				{
+					byte[] data = new byte[RSA_MESSAGE_SIZE];
+					random.nextBytes(data);
+					return Arrays.equals(data, rsa.decode(rsa.encode(data, publicKey), privateKey));
+				}
+			});
+		}
+		System.out.println(ok ? "All round trips matched." : "Round trips FAILED.");
+		System.exit(ok ? 0 : 1);
+	}
+
+	private interface RoundTrip
+	{
+
+		boolean roundTrip(Random random) throws Exception;
+	}
+
+	private static boolean run(String service, int threads, final long millis, final RoundTrip task) throws Exception
+	{
+		final AtomicLong operations = new AtomicLong();
+		final AtomicLong failures = new AtomicLong();
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < threads; i++)
+		{
+			final long seed = i;
+			futures.add(executor.submit(new Callable<Void>()
+			{
+				@Override
+				public Void call() throws Exception
+				{
+					Random random = new Random(seed);
+					start.await();
+					long end = System.currentTimeMillis() + millis;
+					while (System.currentTimeMillis() < end)
+					{
+						if (!task.roundTrip(random))
+						{
+							failures.incrementAndGet();
+						}
+						operations.incrementAndGet();
+					}
+					return null;
+				}
+			}));
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		for (Future<Void> future : futures)
+		{
+			future.get();
+		}
+		double seconds = (System.nanoTime() - begin) / 1e9;
+		executor.shutdown();
+
+		System.out.format("%-7s  %7d  %9.0f  %9d\n", service, threads, operations.get() / seconds, failures.get());
+		return failures.get() == 0;
+	}
+}
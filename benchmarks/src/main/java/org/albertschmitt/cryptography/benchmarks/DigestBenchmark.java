@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.common.DigestSHA;
+import org.albertschmitt.crypto.common.HMAC;
+import org.albertschmitt.cryptography.support.HMACEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput and latency of DigestSHA.sha256, HMAC.sha256 and a reusable
+ * HMACEngine from 64 bytes to 1 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(
+{
+	Mode.Throughput, Mode.SampleTime
+})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend =
+{
+	"-Xms6g", "-Xmx6g"
+})
+public class DigestBenchmark
+{
+
+	private static final String SECRET_KEY = "secret-shared-key";
+
+	@Param(
+	{
+		"64", "1024", "65536", "1048576", "67108864", "1073741824"
+	})
+	public int size;
+
+	private byte[] data;
+	private String text;
+	private HMACEngine engine;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		data = Payloads.bytes(size);
+		text = new String(data, "UTF-8");
+		engine = new HMACEngine(SECRET_KEY);
+	}
+
+	@Benchmark
+	public String sha256() throws Exception
+	{
+		return DigestSHA.sha256(data);
+	}
+
+	@Benchmark
+	public String hmacSha256() throws Exception
+	{
+		return HMAC.sha256(text, SECRET_KEY);
+	}
+
+	@Benchmark
+	public byte[] hmacEngine()
+	{
+		engine.update(data);
+		return engine.doFinal();
+	}
+}
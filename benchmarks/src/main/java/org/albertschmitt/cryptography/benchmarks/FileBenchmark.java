@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.cryptography.support.AESFileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * File to file encryption through the AESService stream overloads compared
+ * with the FileChannel path in AESFileService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileBenchmark
+{
+
+	@Param(
+	{
+		"67108864", "1073741824"
+	})
+	public int size;
+
+	private AESService aes;
+	private AESFileService files;
+	private Path directory;
+	private Path source;
+	private Path target;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		aes = new AESService();
+		aes.generateKey();
+		files = new AESFileService(aes);
+
+		directory = Files.createTempDirectory("file-benchmark");
+		source = directory.resolve("source.dat");
+		target = directory.resolve("target.dat");
+		Payloads.file(source, size);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception
+	{
+		Files.deleteIfExists(source);
+		Files.deleteIfExists(target);
+		Files.deleteIfExists(directory);
+	}
+
+	@Benchmark
+	public void encodeStream() throws Exception
+	{
+		try (FileOutputStream outstream = new FileOutputStream(target.toFile());
+			 FileInputStream instream = new FileInputStream(source.toFile()))
+		{
+			aes.encode(instream, outstream);
+		}
+	}
+
+	@Benchmark
+	public void encodeChannel() throws Exception
+	{
+		files.encode(source, target);
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.cryptography.support.ParallelAESService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scaling of ParallelAESService stream encode / decode with the number of
+ * workers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend =
+{
+	"-Xms4g", "-Xmx4g"
+})
+public class ParallelAESServiceBenchmark
+{
+
+	@Param(
+	{
+		"1", "2", "4", "8", "16", "32"
+	})
+	public int parallelism;
+
+	@Param(
+	{
+		"268435456"
+	})
+	public int size;
+
+	private ForkJoinPool pool;
+	private ParallelAESService parallel;
+	private byte[] data;
+	private byte[] encoded;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		AESService aes = new AESService();
+		aes.generateKey();
+		pool = new ForkJoinPool(parallelism);
+		parallel = new ParallelAESService(aes, ParallelAESService.DEFAULT_SEGMENT_SIZE, pool);
+
+		data = Payloads.bytes(size);
+		ByteArrayOutputStream outstream = new ByteArrayOutputStream(size + size / 64);
+		parallel.encode(new ByteArrayInputStream(data), outstream);
+		encoded = outstream.toByteArray();
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public long encodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		parallel.encode(new ByteArrayInputStream(data), outstream);
+		return outstream.getCount();
+	}
+
+	@Benchmark
+	public long decodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		parallel.decode(new ByteArrayInputStream(encoded), outstream);
+		return outstream.getCount();
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.cryptography.support.ConcurrentRSAService;
+import org.albertschmitt.cryptography.support.ParallelRSAService;
+import org.albertschmitt.cryptography.support.RSAKeyPair;
+import org.albertschmitt.cryptography.support.RSAService4K;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scaling of ParallelRSAService stream encode / decode with the number of
+ * workers. Parallelism 1 is the baseline to compare RSAServiceBenchmark's
+ * serial stream numbers against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParallelRSAServiceBenchmark
+{
+
+	@Param(
+	{
+		"RSA_2K", "RSA_4K"
+	})
+	public RSAService.KEYSIZE keysize;
+
+	@Param(
+	{
+		"1", "2", "4", "8", "16"
+	})
+	public int parallelism;
+
+	@Param(
+	{
+		"1048576"
+	})
+	public int size;
+
+	private ForkJoinPool pool;
+	private ParallelRSAService parallel;
+	private RSAKeyPair keys;
+	private byte[] data;
+	private byte[] encoded;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		keys = RSAKeyPair.generate(new RSAService4K(keysize));
+		pool = new ForkJoinPool(parallelism);
+		parallel = new ParallelRSAService(new ConcurrentRSAService(keysize), ParallelRSAService.DEFAULT_SEGMENT_SIZE, pool);
+
+		data = Payloads.bytes(size);
+		ByteArrayOutputStream outstream = new ByteArrayOutputStream(size * 2);
+		parallel.encode(new ByteArrayInputStream(data), outstream, keys.getPublicKey());
+		encoded = outstream.toByteArray();
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public long encodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		parallel.encode(new ByteArrayInputStream(data), outstream, keys.getPublicKey());
+		return outstream.getCount();
+	}
+
+	@Benchmark
+	public long decodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		parallel.decode(new ByteArrayInputStream(encoded), outstream, keys.getPrivateKey());
+		return outstream.getCount();
+	}
+}
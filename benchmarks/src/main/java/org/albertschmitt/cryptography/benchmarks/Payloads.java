@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Random;
+import org.albertschmitt.cryptography.support.Support;
+
+/**
+ * Payload helpers shared by the benchmarks.
+ */
+public class Payloads
+{
+
+	/**
+	 * Fixed seed so every run encrypts exactly the same bytes.
+	 */
+	private static final long SEED = 0x5EEDL;
+
+	/**
+	 * Create a deterministic payload of printable ASCII characters. Printable
+	 * characters let the same bytes be used for the String overloads without
+	 * changing their length under UTF-8.
+	 *
+	 * @param size The number of bytes to create.
+	 * @return The payload.
+	 */
+	public static byte[] bytes(int size)
+	{
+		final Random random = new Random(SEED);
+		final byte[] data = new byte[size];
+		for (int i = 0; i < size; i++)
+		{
+			data[i] = (byte) (' ' + random.nextInt('~' - ' '));
+		}
+		return data;
+	}
+
+	/**
+	 * Create a deterministic file of lorem text without holding it in memory,
+	 * for benchmarks whose inputs are too large for a byte array.
+	 *
+	 * @param path The file to create.
+	 * @param size The number of bytes to write.
+	 * @throws IOException
+	 */
+	public static void file(Path path, long size) throws IOException
+	{
+		Support.testData(path.toString(), size, SEED, Support.Content.TEXT);
+	}
+
+	/**
+	 * An OutputStream that discards everything written to it so the stream
+	 * benchmarks measure the cipher and not the sink.
+	 */
+	public static class DiscardOutputStream extends OutputStream
+	{
+
+		private long count = 0;
+
+		@Override
+		public void write(int b)
+		{
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len)
+		{
+			count += len;
+		}
+
+		/**
+		 * @return The number of bytes written to this stream.
+		 */
+		public long getCount()
+		{
+			return count;
+		}
+	}
+}
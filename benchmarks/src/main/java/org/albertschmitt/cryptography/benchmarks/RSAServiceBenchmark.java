@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+import org.albertschmitt.cryptography.support.ConcurrentRSAService;
+import org.albertschmitt.cryptography.support.HybridRSAService;
+import org.albertschmitt.cryptography.support.RSAService4K;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput and latency of RSAService encode / decode at the default key
+ * size and at the 4096-bit size used by RSAService4K.
+ * <p>
+ * RSA works one block at a time so payloads stop at 1 MB; larger sizes would
+ * take hours per iteration without telling us anything new.</p>
+ * <p>
+ * The hybrid benchmarks run the same payloads through HybridRSAService,
+ * which switches to AES above one RSA block.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(
+{
+	Mode.Throughput, Mode.SampleTime
+})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RSAServiceBenchmark
+{
+
+	@Param(
+	{
+		"RSA_2K", "RSA_4K"
+	})
+	public RSAService.KEYSIZE keysize;
+
+	@Param(
+	{
+		"64", "1024", "65536", "1048576"
+	})
+	public int size;
+
+	private RSAService rsa;
+	private RSAPrivateKey privateKey;
+	private RSAPublicKey publicKey;
+	private byte[] data;
+	private byte[] encoded;
+	private byte[] encodedStream;
+	private HybridRSAService hybrid;
+	private byte[] encodedHybrid;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		rsa = keysize == RSAService.KEYSIZE.RSA_4K ? new RSAService4K() : new RSAService();
+
+		ByteArrayOutputStream bos_private = new ByteArrayOutputStream();
+		ByteArrayOutputStream bos_public = new ByteArrayOutputStream();
+		rsa.generateKey(bos_private, bos_public);
+		privateKey = rsa.readPrivateKey(new ByteArrayInputStream(bos_private.toByteArray()));
+		publicKey = rsa.readPublicKey(new ByteArrayInputStream(bos_public.toByteArray()));
+
+		data = Payloads.bytes(size);
+		encoded = rsa.encode(data, publicKey);
+
+		ByteArrayOutputStream outstream = new ByteArrayOutputStream();
+		rsa.encode(new ByteArrayInputStream(data), outstream, publicKey);
+		encodedStream = outstream.toByteArray();
+
+		hybrid = new HybridRSAService(new ConcurrentRSAService(keysize));
+		encodedHybrid = hybrid.encode(data, publicKey);
+	}
+
+	@Benchmark
+	public byte[] encodeBytes() throws Exception
+	{
+		return rsa.encode(data, publicKey);
+	}
+
+	@Benchmark
+	public byte[] decodeBytes() throws Exception
+	{
+		return rsa.decode(encoded, privateKey);
+	}
+
+	@Benchmark
+	public long encodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		rsa.encode(new ByteArrayInputStream(data), outstream, publicKey);
+		return outstream.getCount();
+	}
+
+	@Benchmark
+	public long decodeStream() throws Exception
+	{
+		Payloads.DiscardOutputStream outstream = new Payloads.DiscardOutputStream();
+		rsa.decode(new ByteArrayInputStream(encodedStream), outstream, privateKey);
+		return outstream.getCount();
+	}
+
+	@Benchmark
+	public byte[] encodeBytesHybrid() throws Exception
+	{
+		return hybrid.encode(data, publicKey);
+	}
+
+	@Benchmark
+	public byte[] decodeBytesHybrid() throws Exception
+	{
+		return hybrid.decode(encodedHybrid, privateKey);
+	}
+}
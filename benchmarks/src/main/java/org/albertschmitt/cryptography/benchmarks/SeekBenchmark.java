@@ -0,0 +1,164 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.cryptography.support.SeekableAESChannel;
+import org.albertschmitt.cryptography.support.SeekableAESService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of reading one 4 KB record from the middle of an encrypted file. The
+ * AESService stream is decrypted from the start, the seekable file decrypts
+ * only the segment that holds the record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SeekBenchmark
+{
+
+	private static final int RECORD_SIZE = 4096;
+
+	@Param(
+	{
+		"67108864", "1073741824"
+	})
+	public int size;
+
+	private AESService aes;
+	private SeekableAESService seekable;
+	private Path directory;
+	private Path streamFile;
+	private Path seekableFile;
+	private SeekableAESChannel channel;
+	private long offset;
+
+	@Setup
+	public void setup() throws Exception
+	{
+		aes = new AESService();
+		aes.generateKey();
+		seekable = new SeekableAESService(aes);
+
+		directory = Files.createTempDirectory("seek-benchmark");
+		streamFile = directory.resolve("stream.dat");
+		seekableFile = directory.resolve("seekable.dat");
+		byte[] data = Payloads.bytes(size);
+		try (OutputStream outstream = new FileOutputStream(streamFile.toFile()))
+		{
+			aes.encode(new ByteArrayInputStream(data), outstream);
+		}
+		try (OutputStream outstream = new FileOutputStream(seekableFile.toFile()))
+		{
+			seekable.encode(new ByteArrayInputStream(data), outstream);
+		}
+		channel = seekable.open(seekableFile);
+		offset = size / 2;
+	}
+
+	@TearDown
+	public void tearDown() throws Exception
+	{
+		channel.close();
+		Files.deleteIfExists(streamFile);
+		Files.deleteIfExists(seekableFile);
+		Files.deleteIfExists(directory);
+	}
+
+	@Benchmark
+	public long streamRecord() throws Exception
+	{
+		RecordOutputStream outstream = new RecordOutputStream(offset);
+		try (InputStream instream = new FileInputStream(streamFile.toFile()))
+		{
+			aes.decode(instream, outstream);
+		}
+		return outstream.count;
+	}
+
+	@Benchmark
+	public byte[] seekableRecord() throws Exception
+	{
+		return channel.read(offset, RECORD_SIZE);
+	}
+
+	/**
+	 * Discards the plaintext and counts the record bytes, standing in for a
+	 * reader that skips to the record.
+	 */
+	private static class RecordOutputStream extends OutputStream
+	{
+
+		private final long start;
+		private long position = 0;
+		private long count = 0;
+
+		RecordOutputStream(long start)
+		{
+			this.start = start;
+		}
+
+		@Override
+		public void write(int b)
+		{
+			if (position >= start && position < start + RECORD_SIZE)
+			{
+				count++;
+			}
+			position++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len)
+		{
+			long from = Math.max(position, start);
+			long to = Math.min(position + len, start + RECORD_SIZE);
+			count += Math.max(0, to - from);
+			position += len;
+		}
+	}
+}
@@ -23,6 +23,7 @@
  */
 package org.albertschmitt.cryptography.examples;
 
+import org.albertschmitt.cryptography.support.RawDigestSHA;
 import org.albertschmitt.cryptography.support.Support;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -34,10 +35,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import org.albertschmitt.crypto.AESService;
 import org.albertschmitt.crypto.RSAService;
 import org.albertschmitt.crypto.common.Compare;
-import org.albertschmitt.crypto.common.DigestSHA;
 import org.albertschmitt.crypto.common.RSAPrivateKey;
 import org.albertschmitt.crypto.common.RSAPublicKey;
 
@@ -126,40 +129,37 @@ public class Example_040
 		 */
 		System.out.println("Begin Encrypt Data.");
 		FileOutputStream outstream = new FileOutputStream(TESTDATA_ENC_FILE);
-		FileInputStream instream = new FileInputStream(TESTDATA_FILE);
+		DigestInputStream instream = RawDigestSHA.digestInput(new FileInputStream(TESTDATA_FILE));
 		aes.encode(instream, outstream);
 		instream.close();
 		outstream.close();
+		final MessageDigest shaOriginal = instream.getMessageDigest();
 		System.out.println("End Encrypt Data.");
 
 		/**
 		 * Now decrypt the encrypted file using the same AES key.
 		 */
 		System.out.println("Begin Decrypt Data.");
-		outstream = new FileOutputStream(TESTDATA_DEC_FILE);
-		instream = new FileInputStream(TESTDATA_ENC_FILE);
-		aes.decode(instream, outstream);
-		instream.close();
-		outstream.close();
+		DigestOutputStream decstream = RawDigestSHA.digestOutput(new FileOutputStream(TESTDATA_DEC_FILE));
+		FileInputStream encstream = new FileInputStream(TESTDATA_ENC_FILE);
+		aes.decode(encstream, decstream);
+		encstream.close();
+		decstream.close();
+		final MessageDigest shaDecoded = decstream.getMessageDigest();
 		System.out.println("End Decrypt Data.");
 
 		/**
-		 * Compare the original and decrypted files.
+		 * Compare the original and decrypted files using the digests computed
+		 * while they were encrypted and decrypted, without reading either file
+		 * again.
 		 */
-		try (FileInputStream is_original = new FileInputStream(TESTDATA_FILE);
-			 FileInputStream is_decoded = new FileInputStream(TESTDATA_DEC_FILE))
+		if (Compare.safeEquals(shaOriginal.digest(), shaDecoded.digest()))
 		{
-			String shaOriginal = DigestSHA.sha256(is_original);
-			String shaDecoded = DigestSHA.sha256(is_decoded);
-
-			if (Compare.safeEquals(shaOriginal.getBytes("UTF-8"), shaDecoded.getBytes("UTF-8")))
-			{
-				System.out.println("Encrypted and decrypted files are the same.");
-			}
-			else
-			{
-				System.out.println("Encrypted and decrypted files are NOT the same.");
-			}
+			System.out.println("Encrypted and decrypted files are the same.");
+		}
+		else
+		{
+			System.out.println("Encrypted and decrypted files are NOT the same.");
 		}
 		System.out.println("End Example_040.");
 	}
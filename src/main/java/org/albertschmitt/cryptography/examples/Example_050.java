@@ -23,12 +23,15 @@
  */
 package org.albertschmitt.cryptography.examples;
 
+import org.albertschmitt.cryptography.support.RawDigestSHA;
 import org.albertschmitt.cryptography.support.Support;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import org.albertschmitt.crypto.AESService;
 import org.albertschmitt.crypto.common.Compare;
-import org.albertschmitt.crypto.common.DigestSHA;
 
 /**
  * Example 050.
@@ -82,10 +85,12 @@ public class Example_050
 		 * Use AES key to encrypt a file stream directly to another file stream.
 		 */
 		System.out.println("Begin Encrypt Data.");
+		final MessageDigest shaOriginal;
 		try (FileOutputStream outstream = new FileOutputStream(TESTDATA_ENC_FILE);
-			 FileInputStream instream = new FileInputStream(TESTDATA_FILE))
+			 DigestInputStream instream = RawDigestSHA.digestInput(new FileInputStream(TESTDATA_FILE)))
 		{
 			aesServer.encode(instream, outstream);
+			shaOriginal = instream.getMessageDigest();
 		}
 		System.out.println("End Encrypt Data.");
 
@@ -101,30 +106,27 @@ public class Example_050
 		 * Now decrypt the encrypted file using the same AES key.
 		 */
 		System.out.println("Begin Decrypt Data.");
-		try (FileOutputStream outstream = new FileOutputStream(TESTDATA_DEC_FILE);
+		final MessageDigest shaDecoded;
+		try (DigestOutputStream outstream = RawDigestSHA.digestOutput(new FileOutputStream(TESTDATA_DEC_FILE));
 			 FileInputStream instream = new FileInputStream(TESTDATA_ENC_FILE))
 		{
 			aesClient.decode(instream, outstream);
+			shaDecoded = outstream.getMessageDigest();
 		}
 		System.out.println("End Decrypt Data.");
 
 		/**
-		 * Compare the original and decrypted files.
+		 * Compare the original and decrypted files using the digests computed
+		 * while they were encrypted and decrypted, without reading either file
+		 * again.
 		 */
-		try (FileInputStream is_original = new FileInputStream(TESTDATA_FILE);
-			 FileInputStream is_decoded = new FileInputStream(TESTDATA_DEC_FILE))
+		if (Compare.safeEquals(shaOriginal.digest(), shaDecoded.digest()))
 		{
-			String shaOriginal = DigestSHA.sha256(is_original);
-			String shaDecoded = DigestSHA.sha256(is_decoded);
-
-			if (Compare.safeEquals(shaOriginal.getBytes("UTF-8"), shaDecoded.getBytes("UTF-8")))
-			{
-				System.out.println("Encrypted and decrypted files are the same.");
-			}
-			else
-			{
-				System.out.println("Encrypted and decrypted files are NOT the same.");
-			}
+			System.out.println("Encrypted and decrypted files are the same.");
+		}
+		else
+		{
+			System.out.println("Encrypted and decrypted files are NOT the same.");
 		}
 		System.out.println("End Example_050.");
 	}
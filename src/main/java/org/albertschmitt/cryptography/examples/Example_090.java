@@ -0,0 +1,110 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import org.albertschmitt.cryptography.support.Support;
+import java.io.FileInputStream;
+import java.nio.file.Paths;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.crypto.common.DigestSHA;
+import org.albertschmitt.cryptography.support.AESFileService;
+
+/**
+ * Example 090.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Generate AES Key.</li>
+ * <li>Use AES key to encrypt a file directly to another file through
+ * FileChannels.</li>
+ * <li>Decrypt the encrypted file using AES key</li>
+ * <li>Compare the decrypted file to the original.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_090
+{
+
+	private static final String TESTDATA_DEC_FILE = "./Example_090.dec.txt";
+	private static final String TESTDATA_ENC_FILE = "./Example_090.enc.txt";
+	private static final String TESTDATA_FILE = "./Example_090.txt";
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_090.");
+		// Create some data to test with.
+		Support.testData(TESTDATA_FILE);
+
+		/**
+		 * Create a 256-bit AES key. AES keys are asynchronous. One key can both
+		 * encrypt and decrypt data.
+		 */
+		System.out.println("Begin Create AES Key.");
+		AESService aes = new AESService();
+		aes.generateKey();
+		System.out.println("End Create AES Key.");
+
+		/**
+		 * The file service memory maps the source file and writes the cipher
+		 * output straight to the target channel.
+		 */
+		AESFileService files = new AESFileService(aes);
+
+		/**
+		 * Use AES key to encrypt a file directly to another file.
+		 */
+		System.out.println("Begin Encrypt Data.");
+		files.encode(Paths.get(TESTDATA_FILE), Paths.get(TESTDATA_ENC_FILE));
+		System.out.println("End Encrypt Data.");
+
+		/**
+		 * Now decrypt the encrypted file using the same AES key.
+		 */
+		System.out.println("Begin Decrypt Data.");
+		files.decode(Paths.get(TESTDATA_ENC_FILE), Paths.get(TESTDATA_DEC_FILE));
+		System.out.println("End Decrypt Data.");
+
+		/**
+		 * Compare the original and decrypted files.
+		 */
+		try (FileInputStream is_original = new FileInputStream(TESTDATA_FILE);
+			 FileInputStream is_decoded = new FileInputStream(TESTDATA_DEC_FILE))
+		{
+			String shaOriginal = DigestSHA.sha256(is_original);
+			String shaDecoded = DigestSHA.sha256(is_decoded);
+
+			if (Compare.safeEquals(shaOriginal.getBytes("UTF-8"), shaDecoded.getBytes("UTF-8")))
+			{
+				System.out.println("Encrypted and decrypted files are the same.");
+			}
+			else
+			{
+				System.out.println("Encrypted and decrypted files are NOT the same.");
+			}
+		}
+		System.out.println("End Example_090.");
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import org.albertschmitt.cryptography.support.Support;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.crypto.common.DigestSHA;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+import org.albertschmitt.cryptography.support.HybridService;
+
+/**
+ * Example 100.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Check for existence of RSA Keys.</li>
+ * <li>Generate RSA Keys.</li>
+ * <li>Read RSA Keys.</li>
+ * <li>Encrypt a data file to a public key in a single envelope holding the
+ * RSA wrapped AES key followed by the AES encrypted data.</li>
+ * <li>Decrypt the envelope using the private key.</li>
+ * <li>Compare the decrypted file to the original.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_100
+{
+
+	private static final String TESTDATA_DEC_FILE = "./Example_100.dec.txt";
+	private static final String TESTDATA_ENC_FILE = "./Example_100.enc.txt";
+	private static final String TESTDATA_FILE = "./Example_100.txt";
+	private static final String privateKeyfile = "./Example_100_private_key.pem";
+	private static final String publicKeyfile = "./Example_100_public_key.pem";
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_100.");
+		// Create some data to test with.
+		Support.testData(TESTDATA_FILE);
+
+		/**
+		 * Create a public / private RSA key pair.
+		 */
+		final RSAService rsa = new RSAService();
+		if (!rsa.areKeysPresent(privateKeyfile, publicKeyfile))
+		{
+			System.out.println("Begin Create RSA Keys.");
+			rsa.generateKey(privateKeyfile, publicKeyfile);
+			System.out.println("End Create RSA Keys.");
+		}
+
+		/**
+		 * RSA keys are synchronous; both public and private keys are required
+		 * to encrypt and decrypt a message. A client process would not have
+		 * both keys, this is only for demonstration purposes.
+		 */
+		System.out.println("Begin Read RSA Keys.");
+		RSAPrivateKey privateKey = rsa.readPrivateKey(privateKeyfile);
+		RSAPublicKey publicKey = rsa.readPublicKey(publicKeyfile);
+		System.out.println("End Read RSA Keys.");
+
+		/**
+		 * The hybrid service wraps a fresh AES key with the public key and
+		 * writes it ahead of the AES encrypted data, so the whole file costs
+		 * a single RSA operation.
+		 */
+		final HybridService hybrid = new HybridService(rsa);
+
+		/**
+		 * Use public key to encrypt a file stream directly to another file
+		 * stream.
+		 */
+		System.out.println("Begin Encrypt Data.");
+		try (FileOutputStream outstream = new FileOutputStream(TESTDATA_ENC_FILE);
+			 FileInputStream instream = new FileInputStream(TESTDATA_FILE))
+		{
+			hybrid.encode(instream, outstream, publicKey);
+		}
+		System.out.println("End Encrypt Data.");
+
+		/**
+		 * Now decrypt the encrypted file using the private key.
+		 */
+		System.out.println("Begin Decrypt Data.");
+		try (FileOutputStream outstream = new FileOutputStream(TESTDATA_DEC_FILE);
+			 FileInputStream instream = new FileInputStream(TESTDATA_ENC_FILE))
+		{
+			hybrid.decode(instream, outstream, privateKey);
+		}
+		System.out.println("End Decrypt Data.");
+
+		/**
+		 * Compare the original and decrypted files.
+		 */
+		try (FileInputStream is_original = new FileInputStream(TESTDATA_FILE);
+			 FileInputStream is_decoded = new FileInputStream(TESTDATA_DEC_FILE))
+		{
+			String shaOriginal = DigestSHA.sha256(is_original);
+			String shaDecoded = DigestSHA.sha256(is_decoded);
+
+			if (Compare.safeEquals(shaOriginal.getBytes("UTF-8"), shaDecoded.getBytes("UTF-8")))
+			{
+				System.out.println("Encrypted and decrypted files are the same.");
+			}
+			else
+			{
+				System.out.println("Encrypted and decrypted files are NOT the same.");
+			}
+		}
+		System.out.println("End Example_100.");
+	}
+}
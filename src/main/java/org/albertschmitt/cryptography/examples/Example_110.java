@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import java.util.concurrent.TimeUnit;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.cryptography.support.RSAKeyPair;
+import org.albertschmitt.cryptography.support.RSAKeyPairPool;
+import org.albertschmitt.cryptography.support.RSAService4K;
+
+/**
+ * Example 110.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Pre-generate 4096-bit RSA key pairs on background threads.</li>
+ * <li>Take a ready key pair from the pool.</li>
+ * <li>Encrypt and Decrypt a message with the pooled keys.</li>
+ * <li>Report the pool metrics.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_110
+{
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_110.");
+
+		/**
+		 * Start a pool that keeps four 4096-bit key pairs ready. In a server
+		 * the pool would be created once at startup.
+		 */
+		try (RSAKeyPairPool pool = new RSAKeyPairPool(4))
+		{
+			/**
+			 * Take a key pair. The first one may take a few seconds while the
+			 * pool fills, after that pairs are handed out instantly.
+			 */
+			System.out.println("Begin Take RSA Keys.");
+			RSAKeyPair pair = pool.take(1, TimeUnit.MINUTES);
+			System.out.println("End Take RSA Keys.");
+			if (pair == null)
+			{
+				System.out.println("No key pair was generated in time.");
+				return;
+			}
+
+			/**
+			 * Use the new keys right away.
+			 */
+			final RSAService4K rsa = new RSAService4K();
+			String clear_text = "This is a test";
+			byte[] enc_bytes = rsa.encode(clear_text.getBytes("UTF-8"), pair.getPublicKey());
+			byte[] dec_bytes = rsa.decode(enc_bytes, pair.getPrivateKey());
+
+			if (Compare.safeEquals(clear_text.getBytes("UTF-8"), dec_bytes))
+			{
+				System.out.println("Original and Decrypted are the same!");
+			}
+			else
+			{
+				System.out.println("Original and Decrypted are NOT the same!");
+			}
+
+			System.out.format("Available: %d, Generated: %d, Taken: %d, Exhausted: %d, Average: %.0f ms\n",
+							  pool.getAvailable(), pool.getGenerated(), pool.getTaken(),
+							  pool.getExhausted(), pool.getAverageGenerateMillis());
+		}
+		System.out.println("End Example_110.");
+	}
+}
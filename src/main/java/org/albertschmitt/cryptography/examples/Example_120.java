@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import java.security.GeneralSecurityException;
+import org.albertschmitt.cryptography.support.AESGCMService;
+
+/**
+ * Example 120.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Generate an AES Key for GCM mode.</li>
+ * <li>Encrypt and authenticate a message in a single pass.</li>
+ * <li>Decrypt and verify the message in a single pass.</li>
+ * <li>Detect a message that was tampered with en-route.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_120
+{
+
+	private static String content = "Lorem ipsum dolor sit amet, duo cu nobis epicurei hendrerit, mei agam elit an.";
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_120.");
+
+		AESGCMService aes = new AESGCMService();
+		aes.generateKey();
+
+		/**
+		 * Simulate a client that is going to send encrypted data. GCM adds an
+		 * authentication tag to the ciphertext so no separate HMAC is needed.
+		 */
+		byte[] encData = aes.encode(content);
+
+		/**
+		 * Simulate the server that receives the encrypted data. Decoding
+		 * verifies the tag before any plaintext is returned.
+		 */
+		byte[] decData = aes.decode(encData);
+		final String server_content = new String(decData, "UTF-8");
+		System.out.println("Encrypted data from client verified.");
+		System.out.format("Client content was: %s\n", server_content);
+
+		/**
+		 * Now flip one bit of the ciphertext as an attacker would.
+		 */
+		encData[encData.length / 2] ^= 1;
+		try
+		{
+			aes.decode(encData);
+			System.out.println("Tampered data was NOT detected.");
+		}
+		catch (GeneralSecurityException ex)
+		{
+			System.out.println("Encrypted data from client was tampered with en-route.");
+			System.out.println("Client content should not be trusted.");
+		}
+
+		System.out.println("End Example_120.");
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.cryptography.support.AESReadableByteChannel;
+import org.albertschmitt.cryptography.support.AESWritableByteChannel;
+
+/**
+ * Example 130.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Generate AES Key.</li>
+ * <li>Encrypt data into a non-blocking channel without a helper
+ * thread.</li>
+ * <li>Decrypt it from the other end of the channel, one partial read at a
+ * time.</li>
+ * <li>Compare the decrypted data to the original.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_130
+{
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_130.");
+		// Create some data to test with.
+		byte[] data = new byte[1024 * 1024];
+		for (int i = 0; i < data.length; i++)
+		{
+			data[i] = (byte) ('A' + i % 26);
+		}
+
+		/**
+		 * Create a 256-bit AES key. AES keys are asynchronous. One key can both
+		 * encrypt and decrypt data.
+		 */
+		System.out.println("Begin Create AES Key.");
+		AESService aes = new AESService();
+		aes.generateKey();
+		System.out.println("End Create AES Key.");
+
+		/**
+		 * A pipe in non-blocking mode behaves like a socket in a selector loop:
+		 * writes take only what fits and reads return 0 when nothing has
+		 * arrived yet.
+		 */
+		Pipe pipe = Pipe.open();
+		pipe.sink().configureBlocking(false);
+		pipe.source().configureBlocking(false);
+
+		System.out.println("Begin Encrypt and Decrypt Data.");
+		ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+		AESWritableByteChannel writer = new AESWritableByteChannel(pipe.sink(), aes);
+		try (AESReadableByteChannel reader = new AESReadableByteChannel(pipe.source(), aes))
+		{
+			ByteBuffer plaintext = ByteBuffer.wrap(data);
+			ByteBuffer buffer = ByteBuffer.allocate(4096);
+			int count = 0;
+			while (count != -1)
+			{
+				/**
+				 * Write what the channel will take. Once all of the data is
+				 * written, call finish until the last block is out and then
+				 * close the writer so the reader sees the end of the data.
+				 */
+				if (plaintext.hasRemaining())
+				{
+					writer.write(plaintext);
+				}
+				else if (writer.isOpen() && writer.finish())
+				{
+					writer.close();
+				}
+
+				/**
+				 * Read whatever has arrived so far.
+				 */
+				count = reader.read(buffer);
+				decoded.write(buffer.array(), 0, buffer.position());
+				buffer.clear();
+			}
+		}
+		System.out.println("End Encrypt and Decrypt Data.");
+
+		if (Compare.safeEquals(data, decoded.toByteArray()))
+		{
+			System.out.println("Original and decrypted data are the same.");
+		}
+		else
+		{
+			System.out.println("Original and decrypted data are NOT the same.");
+		}
+		System.out.println("End Example_130.");
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileOutputStream;
+import java.nio.file.Paths;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.cryptography.support.SeekableAESChannel;
+import org.albertschmitt.cryptography.support.SeekableAESService;
+
+/**
+ * Example 140.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Generate AES Key.</li>
+ * <li>Encrypt a file of fixed length records into the seekable
+ * layout.</li>
+ * <li>Decrypt one record from the middle of the file without decrypting the
+ * records before it.</li>
+ * <li>Compare the decrypted record to the original.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_140
+{
+
+	private static final String TESTDATA_ENC_FILE = "./Example_140.enc.dat";
+	private static final int RECORD_COUNT = 100000;
+	private static final int RECORD_SIZE = 32;
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_140.");
+		// Create some fixed length records to test with.
+		StringBuilder records = new StringBuilder(RECORD_COUNT * RECORD_SIZE);
+		for (int i = 0; i < RECORD_COUNT; i++)
+		{
+			records.append(record(i));
+		}
+		byte[] data = records.toString().getBytes("UTF-8");
+
+		/**
+		 * Create a 256-bit AES key. AES keys are asynchronous. One key can both
+		 * encrypt and decrypt data.
+		 */
+		System.out.println("Begin Create AES Key.");
+		AESService aes = new AESService();
+		aes.generateKey();
+		System.out.println("End Create AES Key.");
+
+		/**
+		 * Encrypt the records in 64 KB segments that can each be decrypted on
+		 * their own.
+		 */
+		System.out.println("Begin Encrypt Data.");
+		SeekableAESService seekable = new SeekableAESService(aes);
+		try (FileOutputStream outstream = new FileOutputStream(TESTDATA_ENC_FILE))
+		{
+			seekable.encode(new ByteArrayInputStream(data), outstream);
+		}
+		System.out.println("End Encrypt Data.");
+
+		/**
+		 * Read one record. Only the segment that holds it is decrypted.
+		 */
+		System.out.println("Begin Decrypt Record.");
+		int wanted = RECORD_COUNT / 2 + 7;
+		byte[] decoded;
+		try (SeekableAESChannel channel = seekable.open(Paths.get(TESTDATA_ENC_FILE)))
+		{
+			decoded = channel.read((long) wanted * RECORD_SIZE, RECORD_SIZE);
+		}
+		System.out.println("End Decrypt Record.");
+
+		if (Compare.safeEquals(record(wanted).getBytes("UTF-8"), decoded))
+		{
+			System.out.println("Record " + wanted + " was decrypted correctly.");
+		}
+		else
+		{
+			System.out.println("Record " + wanted + " was NOT decrypted correctly.");
+		}
+		System.out.println("End Example_140.");
+	}
+
+	/**
+	 * A record padded to exactly RECORD_SIZE characters.
+	 */
+	private static String record(int i)
+	{
+		return String.format("record %-24d\n", i);
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.Deflater;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.cryptography.support.CompressedAESService;
+import org.albertschmitt.cryptography.support.Support;
+
+/**
+ * Example 150.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Generate AES Key.</li>
+ * <li>Compress data before encrypting it and compare the size with plain
+ * encryption.</li>
+ * <li>Decrypt and decompress the data.</li>
+ * <li>Compare the decrypted data to the original.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_150
+{
+
+	private static final String TESTDATA_FILE = "./Example_150.txt";
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_150.");
+		// Create some data to test with.
+		Support.testData(TESTDATA_FILE);
+		byte[] data = Files.readAllBytes(Paths.get(TESTDATA_FILE));
+
+		/**
+		 * Create a 256-bit AES key. AES keys are asynchronous. One key can both
+		 * encrypt and decrypt data.
+		 */
+		System.out.println("Begin Create AES Key.");
+		AESService aes = new AESService();
+		aes.generateKey();
+		System.out.println("End Create AES Key.");
+
+		/**
+		 * Encrypt the data with and without compression. Text like this
+		 * compresses well; data that does not is stored as is.
+		 */
+		System.out.println("Begin Encrypt Data.");
+		byte[] plain = aes.encode(data);
+		CompressedAESService compressed = new CompressedAESService(aes, Deflater.BEST_SPEED);
+		byte[] enc_data = compressed.encode(data);
+		System.out.println("End Encrypt Data.");
+		System.out.println("Original: " + data.length + " bytes, encrypted: " + plain.length
+				+ " bytes, compressed and encrypted: " + enc_data.length + " bytes.");
+
+		/**
+		 * Decrypt and decompress with the same service.
+		 */
+		System.out.println("Begin Decrypt Data.");
+		byte[] dec_data = compressed.decode(enc_data);
+		System.out.println("End Decrypt Data.");
+
+		if (Compare.safeEquals(data, dec_data))
+		{
+			System.out.println("Original and decrypted data are the same.");
+		}
+		else
+		{
+			System.out.println("Original and decrypted data are NOT the same.");
+		}
+		System.out.println("End Example_150.");
+	}
+}
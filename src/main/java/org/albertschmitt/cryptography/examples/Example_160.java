@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.cryptography.support.DirectoryEncryptor;
+import org.albertschmitt.cryptography.support.Support;
+
+/**
+ * Example 160.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Generate AES Key.</li>
+ * <li>Encrypt a whole directory tree in parallel and write a manifest.</li>
+ * <li>Decrypt the tree and check every file against the manifest.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_160
+{
+
+	private static final String TESTDATA_DIR = "./Example_160";
+	private static final String TESTDATA_ENC_DIR = "./Example_160.enc";
+	private static final String TESTDATA_DEC_DIR = "./Example_160.dec";
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_160.");
+		// Create a small tree of data to test with.
+		Path source = Paths.get(TESTDATA_DIR);
+		for (int i = 0; i < 4; i++)
+		{
+			Path directory = source.resolve("folder" + i);
+			Files.createDirectories(directory);
+			for (int j = 0; j < 8; j++)
+			{
+				Support.testData(directory.resolve("file" + j + ".txt").toString());
+			}
+		}
+
+		/**
+		 * Create a 256-bit AES key. AES keys are asynchronous. One key can both
+		 * encrypt and decrypt data.
+		 */
+		System.out.println("Begin Create AES Key.");
+		AESService aes = new AESService();
+		aes.generateKey();
+		System.out.println("End Create AES Key.");
+
+		/**
+		 * The key id is written to the manifest so the right key can be found
+		 * when the tree is decrypted.
+		 */
+		DirectoryEncryptor encryptor = new DirectoryEncryptor(aes, "example-160");
+
+		System.out.println("Begin Encrypt Directory.");
+		List<DirectoryEncryptor.Entry> entries = encryptor.encrypt(source, Paths.get(TESTDATA_ENC_DIR));
+		System.out.println("End Encrypt Directory. " + entries.size() + " files listed in "
+				+ Paths.get(TESTDATA_ENC_DIR, DirectoryEncryptor.MANIFEST) + ".");
+
+		/**
+		 * decrypt throws if any file does not match the digest in the
+		 * manifest.
+		 */
+		System.out.println("Begin Decrypt Directory.");
+		encryptor.decrypt(Paths.get(TESTDATA_ENC_DIR), Paths.get(TESTDATA_DEC_DIR));
+		System.out.println("End Decrypt Directory. Every file matches the manifest.");
+
+		/**
+		 * The encryptor created its own pool, so close it to stop the workers.
+		 */
+		encryptor.close();
+		System.out.println("End Example_160.");
+	}
+}
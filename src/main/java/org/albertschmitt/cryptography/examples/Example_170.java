@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Paths;
+import java.util.Random;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.cryptography.support.ChunkedAESStore;
+
+/**
+ * Example 170.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Generate AES Key.</li>
+ * <li>Store a file as encrypted content-defined chunks.</li>
+ * <li>Change a few bytes and store it again, re-encrypting only the chunks
+ * that changed.</li>
+ * <li>Restore the file and compare it to the changed original.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_170
+{
+
+	private static final String TESTDATA_STORE_DIR = "./Example_170.store";
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_170.");
+		// Create some data to test with.
+		byte[] data = new byte[8 * 1024 * 1024];
+		new Random(170).nextBytes(data);
+
+		/**
+		 * Create a 256-bit AES key. AES keys are asynchronous. One key can both
+		 * encrypt and decrypt data.
+		 */
+		System.out.println("Begin Create AES Key.");
+		AESService aes = new AESService();
+		aes.generateKey();
+		System.out.println("End Create AES Key.");
+
+		ChunkedAESStore store = new ChunkedAESStore(Paths.get(TESTDATA_STORE_DIR), aes);
+
+		System.out.println("Begin Store Data.");
+		print(store.store("data.bin", new ByteArrayInputStream(data)));
+		System.out.println("End Store Data.");
+
+		/**
+		 * Change a few bytes in the middle and store the file again. The
+		 * chunks before and after the change are already in the store.
+		 */
+		System.out.println("Begin Store Changed Data.");
+		for (int i = 0; i < 16; i++)
+		{
+			data[data.length / 2 + i] ^= 0x55;
+		}
+		print(store.store("data.bin", new ByteArrayInputStream(data)));
+		System.out.println("Deleted " + store.purge() + " chunks the new version no longer uses.");
+		System.out.println("End Store Changed Data.");
+
+		System.out.println("Begin Restore Data.");
+		ByteArrayOutputStream restored = new ByteArrayOutputStream(data.length);
+		store.restore("data.bin", restored);
+		System.out.println("End Restore Data.");
+
+		if (Compare.safeEquals(data, restored.toByteArray()))
+		{
+			System.out.println("Original and restored data are the same.");
+		}
+		else
+		{
+			System.out.println("Original and restored data are NOT the same.");
+		}
+		System.out.println("End Example_170.");
+	}
+
+	private static void print(ChunkedAESStore.Result result)
+	{
+		System.out.println(result.getChunks() + " chunks, " + result.getNewChunks() + " new, "
+				+ result.getBytesWritten() + " of " + result.getLength() + " bytes written.");
+	}
+}
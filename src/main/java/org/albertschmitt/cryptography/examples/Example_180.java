@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.cryptography.support.ConcurrentRSAService;
+import org.albertschmitt.cryptography.support.KeyRotation;
+import org.albertschmitt.cryptography.support.RSAKeyPair;
+
+/**
+ * Example 180.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Wrap a set of AES keys with an RSA key and write them to files, as
+ * Example_040 does.</li>
+ * <li>Rotate the files to a new RSA key pair in parallel without touching
+ * the AES keys.</li>
+ * <li>Run the rotation again and see that the journal makes it skip every
+ * file.</li>
+ * <li>Unwrap a rotated key with the new key pair and compare it to the
+ * original.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_180
+{
+
+	private static final String KEY_DIR = "./Example_180.keys";
+	private static final String JOURNAL_FILE = "./Example_180.journal";
+	private static final int KEY_COUNT = 50;
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_180.");
+		final RSAService rsa = new RSAService();
+
+		System.out.println("Begin Create RSA Keys.");
+		final RSAKeyPair oldKeys = RSAKeyPair.generate(rsa);
+		final RSAKeyPair newKeys = RSAKeyPair.generate(rsa);
+		System.out.println("End Create RSA Keys.");
+
+		/**
+		 * Wrap AES keys with the old private key, one file per key.
+		 */
+		System.out.println("Begin Wrap AES Keys.");
+		final Path directory = Paths.get(KEY_DIR);
+		Files.createDirectories(directory);
+		Files.deleteIfExists(Paths.get(JOURNAL_FILE));
+		final AESService aes = new AESService();
+		byte[] first_key = null;
+		for (int i = 0; i < KEY_COUNT; i++)
+		{
+			aes.generateKey();
+			if (i == 0)
+			{
+				first_key = aes.getAesKey();
+			}
+			Files.write(directory.resolve("key" + i + ".dat"), rsa.encode(aes.getAesKey(), oldKeys.getPrivateKey()));
+		}
+		System.out.println("End Wrap AES Keys.");
+
+		/**
+		 * Unwrap each key with the old public key and wrap it again with the
+		 * new private key. Data encrypted with the AES keys is not touched.
+		 */
+		System.out.println("Begin Rotate Keys.");
+		KeyRotation rotation = new KeyRotation(new ConcurrentRSAService(), oldKeys.getPublicKey(), newKeys.getPrivateKey(), Paths.get(JOURNAL_FILE));
+		KeyRotation.Result result = rotation.rotate(directory, KeyRotation.Format.KEY_FILE);
+		System.out.println("Rotated " + result.getRotated() + ", skipped " + result.getSkipped() + ", failed " + result.getFailures().size() + ".");
+
+		/**
+		 * A second run finds every file in the journal, as a run restarted
+		 * after a crash would for the files already done.
+		 */
+		result = rotation.rotate(directory, KeyRotation.Format.KEY_FILE);
+		System.out.println("Rotated " + result.getRotated() + ", skipped " + result.getSkipped() + ", failed " + result.getFailures().size() + ".");
+		rotation.close();
+		System.out.println("End Rotate Keys.");
+
+		final byte[] key_bytes = rsa.decode(Files.readAllBytes(directory.resolve("key0.dat")), newKeys.getPublicKey());
+		if (Compare.safeEquals(first_key, key_bytes))
+		{
+			System.out.println("The rotated key unwraps to the original AES key.");
+		}
+		else
+		{
+			System.out.println("The rotated key does NOT unwrap to the original AES key.");
+		}
+		System.out.println("End Example_180.");
+	}
+}
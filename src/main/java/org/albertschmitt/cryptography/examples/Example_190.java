@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.cryptography.support.ConcurrentRSAService;
+import org.albertschmitt.cryptography.support.HybridRSAService;
+import org.albertschmitt.cryptography.support.RSAKeyPair;
+import org.albertschmitt.cryptography.support.Support;
+
+/**
+ * Example 190.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Encrypt and decrypt a short message and a data file with the byte
+ * array methods of HybridRSAService.</li>
+ * <li>See that the short message is encrypted by RSA alone and the file by
+ * AES with an RSA wrapped key.</li>
+ * <li>Compare the time taken with RSAService, as used in Example_020.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_190
+{
+
+	private static final String TESTDATA_FILE = "./Example_190.txt";
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_190.");
+		// Create some data to test with.
+		Support.testData(TESTDATA_FILE);
+
+		System.out.println("Begin Create RSA Keys.");
+		final RSAService rsa = new RSAService();
+		final RSAKeyPair keys = RSAKeyPair.generate(rsa);
+		System.out.println("End Create RSA Keys.");
+
+		final HybridRSAService hybrid = new HybridRSAService(new ConcurrentRSAService());
+		final byte[] message = "A short message fits in one RSA block.".getBytes(StandardCharsets.UTF_8);
+		final byte[] testdata_bytes = Files.readAllBytes(Paths.get(TESTDATA_FILE));
+
+		/**
+		 * The same call encrypts both; the threshold decides the path.
+		 */
+		System.out.println("Begin Encrypt Data.");
+		byte[] message_enc = hybrid.encode(message, keys.getPublicKey());
+		long start = System.nanoTime();
+		byte[] testdata_enc = hybrid.encode(testdata_bytes, keys.getPublicKey());
+		byte[] testdata_dec = hybrid.decode(testdata_enc, keys.getPrivateKey());
+		long hybrid_ms = (System.nanoTime() - start) / 1000000;
+		System.out.println("End Encrypt Data.");
+		System.out.println(message.length + " bytes took the " + (message_enc[0] == 0 ? "RSA" : "hybrid") + " path, "
+				+ testdata_bytes.length + " bytes took the " + (testdata_enc[0] == 0 ? "RSA" : "hybrid") + " path.");
+
+		System.out.println("Begin Decrypt Data.");
+		byte[] message_dec = hybrid.decode(message_enc, keys.getPrivateKey());
+		System.out.println("End Decrypt Data.");
+
+		/**
+		 * The same file through RSAService one block at a time.
+		 */
+		start = System.nanoTime();
+		rsa.decode(rsa.encode(testdata_bytes, keys.getPublicKey()), keys.getPrivateKey());
+		long rsa_ms = (System.nanoTime() - start) / 1000000;
+		System.out.println("RSAService took " + rsa_ms + " ms, HybridRSAService took " + hybrid_ms + " ms.");
+
+		if (Compare.safeEquals(message, message_dec) && Compare.safeEquals(testdata_bytes, testdata_dec))
+		{
+			System.out.println("Encrypted and decrypted data are the same.");
+		}
+		else
+		{
+			System.out.println("Encrypted and decrypted data are NOT the same.");
+		}
+		System.out.println("End Example_190.");
+	}
+}
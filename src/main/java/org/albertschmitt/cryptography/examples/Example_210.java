@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.examples;
+
+import org.albertschmitt.cryptography.support.Support;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.common.Compare;
+import org.albertschmitt.cryptography.support.AESFileService;
+import org.albertschmitt.cryptography.support.CipherEngines;
+import org.albertschmitt.cryptography.support.RawDigestSHA;
+
+/**
+ * Example 210.
+ * <p>
+ * Demonstrate the following techniques:</p>
+ * <ul>
+ * <li>Report the cipher engine the JCE based support services use.</li>
+ * <li>Time the available engines and select the fastest for each
+ * transformation.</li>
+ * <li>Encrypt and decrypt a file with AESFileService on the selected
+ * engine.</li>
+ * <li>Compare the decrypted file to the original.</li>
+ * </ul>
+ *
+ * @author Albert Schmitt [acschmit] [at] [gmail] [dot] [com]
+ */
+public class Example_210
+{
+
+	private static final String TESTDATA_DEC_FILE = "./Example_210.dec.txt";
+	private static final String TESTDATA_ENC_FILE = "./Example_210.enc.txt";
+	private static final String TESTDATA_FILE = "./Example_210.txt";
+
+	public static void main(String[] args) throws Exception
+	{
+		System.out.println("Begin Example_210.");
+		// Create 16 MB of data to test with.
+		Support.testData(TESTDATA_FILE, 16L * 1024 * 1024, 210, Support.Content.TEXT);
+
+		System.out.print(CipherEngines.report());
+
+		System.out.println("Begin Select Engines.");
+		Map<String, CipherEngines.Engine> engines = CipherEngines.autoSelect();
+		for (Map.Entry<String, CipherEngines.Engine> engine : engines.entrySet())
+		{
+			System.out.println("Selected " + engine.getValue() + " for " + engine.getKey() + ".");
+		}
+		System.out.println("End Select Engines.");
+		System.out.print(CipherEngines.report());
+
+		System.out.println("Begin Create AES Key.");
+		AESService aes = new AESService();
+		aes.generateKey();
+		AESFileService files = new AESFileService(aes);
+		System.out.println("End Create AES Key.");
+
+		final Path original = Paths.get(TESTDATA_FILE);
+		final Path encoded = Paths.get(TESTDATA_ENC_FILE);
+		final Path decoded = Paths.get(TESTDATA_DEC_FILE);
+		long start = System.nanoTime();
+		System.out.println("Begin Encrypt Data.");
+		files.encode(original, encoded);
+		System.out.println("End Encrypt Data.");
+
+		System.out.println("Begin Decrypt Data.");
+		files.decode(encoded, decoded);
+		System.out.println("End Decrypt Data.");
+		System.out.println("Round trip took " + (System.nanoTime() - start) / 1000000 + " ms.");
+
+		/**
+		 * Compare the original and decrypted files.
+		 */
+		try (InputStream is_original = Files.newInputStream(original);
+			 InputStream is_decoded = Files.newInputStream(decoded))
+		{
+			if (Compare.safeEquals(RawDigestSHA.sha256(is_original), RawDigestSHA.sha256(is_decoded)))
+			{
+				System.out.println("Encrypted and decrypted files are the same.");
+			}
+			else
+			{
+				System.out.println("Encrypted and decrypted files are NOT the same.");
+			}
+		}
+		System.out.println("End Example_210.");
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * Encrypt and decrypt messages between ByteBuffers without allocating.
+ * <p>
+ * The caller owns both buffers, heap or direct, and can reuse them for every
+ * message, so a hot loop creates no garbage per message. The ciphers are
+ * initialized once. Instead of a new IV per message each message starts with
+ * a random block, which CBC turns into the IV of the rest of the message;
+ * the output is therefore the same IV plus AES/CBC/PKCS5 ciphertext layout
+ * AESFileService writes, and either can decode the other.</p>
+ * <p>
+ * A service holds cipher state and scratch space, so it is not thread safe.
+ * Give each thread its own.</p>
+ */
+public class AESBufferService
+{
+
+	private static final int BLOCK_SIZE = AESCiphers.BLOCK_SIZE;
+	static final String CBC_NO_PADDING = "AES/CBC/NoPadding";
+	private static final int SCRATCH_SIZE = 1024 * 8;
+
+	private final Cipher encoder;
+	private final Cipher decoder;
+	private final byte[] block = new byte[BLOCK_SIZE];
+	private final byte[] scratch = new byte[SCRATCH_SIZE];
+
+	/**
+	 * Create a service that uses the key of an existing AESService.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 * @throws GeneralSecurityException
+	 */
+	public AESBufferService(AESService aes) throws GeneralSecurityException
+	{
+		this(aes.getAesKey());
+	}
+
+	/**
+	 * Create a service from raw AES key bytes.
+	 *
+	 * @param aesKey The AES key bytes.
+	 * @throws GeneralSecurityException
+	 */
+	public AESBufferService(byte[] aesKey) throws GeneralSecurityException
+	{
+		final SecretKeySpec key = AESCiphers.key(aesKey);
+		final IvParameterSpec zero = new IvParameterSpec(new byte[BLOCK_SIZE]);
+		encoder = AESCiphers.getInstance(CBC_NO_PADDING);
+		encoder.init(Cipher.ENCRYPT_MODE, key, zero);
+		decoder = AESCiphers.getInstance(CBC_NO_PADDING);
+		decoder.init(Cipher.DECRYPT_MODE, key, zero);
+	}
+
+	/**
+	 * @param length The number of plaintext bytes.
+	 * @return The exact number of bytes encode writes.
+	 */
+	public static int getEncodeOutputSize(int length)
+	{
+		return BLOCK_SIZE + (length / BLOCK_SIZE + 1) * BLOCK_SIZE;
+	}
+
+	/**
+	 * @param length The number of ciphertext bytes.
+	 * @return The room decode needs in the destination, at most 16 bytes more
+	 * than it writes.
+	 */
+	public static int getDecodeOutputSize(int length)
+	{
+		return Math.max(0, length - BLOCK_SIZE);
+	}
+
+	/**
+	 * Encrypt the remaining bytes of src into dst. On return src is at its
+	 * limit and dst is just past the ciphertext.
+	 *
+	 * @param src The plaintext.
+	 * @param dst Where the ciphertext is written.
+	 * @return The number of bytes written to dst.
+	 * @throws GeneralSecurityException If dst is too small.
+	 */
+	public int encode(ByteBuffer src, ByteBuffer dst) throws GeneralSecurityException
+	{
+		final int length = src.remaining();
+		final int needed = getEncodeOutputSize(length);
+		if (dst.remaining() < needed)
+		{
+			throw new ShortBufferException("Encode needs " + needed + " bytes of output space.");
+		}
+
+		AESCiphers.RANDOM.nextBytes(block);
+		int written = encoder.update(block, 0, BLOCK_SIZE, block, 0);
+		dst.put(block, 0, written);
+
+		final int tail = length % BLOCK_SIZE;
+		written += crypt(encoder, src, length - tail, dst);
+
+		// PKCS5 padding on the last, partial block.
+		src.get(block, 0, tail);
+		Arrays.fill(block, tail, BLOCK_SIZE, (byte) (BLOCK_SIZE - tail));
+		int n = encoder.doFinal(block, 0, BLOCK_SIZE, block, 0);
+		dst.put(block, 0, n);
+		return written + n;
+	}
+
+	/**
+	 * Decrypt the remaining bytes of src into dst. On return src is at its
+	 * limit and dst is just past the plaintext.
+	 *
+	 * @param src The ciphertext.
+	 * @param dst Where the plaintext is written.
+	 * @return The number of bytes written to dst.
+	 * @throws GeneralSecurityException If dst is too small or the ciphertext
+	 * is not valid.
+	 */
+	public int decode(ByteBuffer src, ByteBuffer dst) throws GeneralSecurityException
+	{
+		final int length = src.remaining();
+		if (length < 2 * BLOCK_SIZE || length % BLOCK_SIZE != 0)
+		{
+			throw new IllegalBlockSizeException("Ciphertext length " + length + " is not valid.");
+		}
+		final int needed = getDecodeOutputSize(length);
+		if (dst.remaining() < needed)
+		{
+			throw new ShortBufferException("Decode needs " + needed + " bytes of output space.");
+		}
+
+		// The first block only carries the IV for the rest of the message.
+		src.get(block);
+		decoder.update(block, 0, BLOCK_SIZE, block, 0);
+
+		final int start = dst.position();
+		final int written = crypt(decoder, src, length - BLOCK_SIZE, dst);
+		decoder.doFinal(block, 0);
+
+		final int pad = dst.get(start + written - 1) & 0xff;
+		int bad = pad == 0 || pad > BLOCK_SIZE ? 1 : 0;
+		for (int i = 1; i <= BLOCK_SIZE; i++)
+		{
+			int b = dst.get(start + written - i) & 0xff;
+			bad |= i <= pad && b != pad ? 1 : 0;
+		}
+		if (bad != 0)
+		{
+			dst.position(start);
+			throw new BadPaddingException("Ciphertext is not valid.");
+		}
+		dst.position(start + written - pad);
+		return written - pad;
+	}
+
+	/**
+	 * Run length bytes of src through the cipher into dst. Buffers backed by
+	 * arrays are handed to the cipher directly, anything else goes through
+	 * the scratch array so direct buffers do not make the JCE allocate.
+	 */
+	private int crypt(Cipher cipher, ByteBuffer src, int length, ByteBuffer dst) throws GeneralSecurityException
+	{
+		if (src.hasArray() && dst.hasArray())
+		{
+			int n = cipher.update(src.array(), src.arrayOffset() + src.position(), length,
+								  dst.array(), dst.arrayOffset() + dst.position());
+			src.position(src.position() + length);
+			dst.position(dst.position() + n);
+			return n;
+		}
+
+		int written = 0;
+		while (length > 0)
+		{
+			int chunk = Math.min(length, SCRATCH_SIZE);
+			src.get(scratch, 0, chunk);
+			int n = cipher.update(scratch, 0, chunk, scratch, 0);
+			dst.put(scratch, 0, n);
+			written += n;
+			length -= chunk;
+		}
+		return written;
+	}
+}
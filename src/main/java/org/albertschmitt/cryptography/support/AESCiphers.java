@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Cipher plumbing shared by the support classes that drive AES through the
+ * JCE instead of through AESService.
+ * <p>
+ * The key bytes are the same ones AESService.getAesKey returns. 256-bit keys
+ * need the unlimited strength policy on older Java 7 and 8 runtimes.</p>
+ */
+final class AESCiphers
+{
+
+	/**
+	 * AES in CBC mode. Files and messages written with it start with the
+	 * random IV followed by the ciphertext.
+	 */
+	static final String CBC = "AES/CBC/PKCS5Padding";
+	static final int IV_SIZE = 16;
+	static final int BLOCK_SIZE = 16;
+
+	/**
+	 * SecureRandom is thread safe and expensive to seed, so share one.
+	 */
+	static final SecureRandom RANDOM = new SecureRandom();
+
+	private AESCiphers()
+	{
+	}
+
+	/**
+	 * A cipher from the engine CipherEngines has selected for the
+	 * transformation.
+	 */
+	static Cipher getInstance(String transformation) throws GeneralSecurityException
+	{
+		return CipherEngines.getInstance(transformation);
+	}
+
+	static SecretKeySpec key(byte[] aesKey)
+	{
+		return new SecretKeySpec(aesKey, "AES");
+	}
+
+	static byte[] randomIV()
+	{
+		byte[] iv = new byte[IV_SIZE];
+		RANDOM.nextBytes(iv);
+		return iv;
+	}
+}
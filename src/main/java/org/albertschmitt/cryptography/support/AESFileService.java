@@ -0,0 +1,173 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * Encrypt and decrypt files through FileChannels.
+ * <p>
+ * The source file is memory mapped a window at a time and the cipher writes
+ * into a direct buffer that goes straight to the target channel, so the data
+ * is never copied onto the Java heap. Encrypted files hold a random IV
+ * followed by the AES/CBC ciphertext.</p>
+ */
+public class AESFileService
+{
+
+	/**
+	 * How much of the source file is mapped at once.
+	 */
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+	/**
+	 * How much is handed to the cipher per update.
+	 */
+	private static final int CHUNK_SIZE = 1024 * 1024;
+
+	private final SecretKeySpec key;
+
+	/**
+	 * Create a service that uses the key of an existing AESService.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 */
+	public AESFileService(AESService aes)
+	{
+		this(aes.getAesKey());
+	}
+
+	/**
+	 * Create a service from raw AES key bytes.
+	 *
+	 * @param aesKey The AES key bytes.
+	 */
+	public AESFileService(byte[] aesKey)
+	{
+		this.key = AESCiphers.key(aesKey);
+	}
+
+	/**
+	 * Encrypt one file to another.
+	 *
+	 * @param source The file to encrypt.
+	 * @param target The encrypted file to create or replace.
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public void encode(Path source, Path target) throws IOException, GeneralSecurityException
+	{
+		final byte[] iv = AESCiphers.randomIV();
+		final Cipher cipher = AESCiphers.getInstance(AESCiphers.CBC);
+		cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv));
+
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+			 FileChannel out = openTarget(target))
+		{
+			writeFully(out, ByteBuffer.wrap(iv));
+			transform(cipher, in, 0, out);
+		}
+	}
+
+	/**
+	 * Decrypt a file written by encode.
+	 *
+	 * @param source The encrypted file.
+	 * @param target The decrypted file to create or replace.
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public void decode(Path source, Path target) throws IOException, GeneralSecurityException
+	{
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+			 FileChannel out = openTarget(target))
+		{
+			final ByteBuffer iv = ByteBuffer.allocate(AESCiphers.IV_SIZE);
+			while (iv.hasRemaining())
+			{
+				if (in.read(iv) == -1)
+				{
+					throw new EOFException("Encrypted file is too short.");
+				}
+			}
+			final Cipher cipher = AESCiphers.getInstance(AESCiphers.CBC);
+			cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv.array()));
+			transform(cipher, in, AESCiphers.IV_SIZE, out);
+		}
+	}
+
+	private static FileChannel openTarget(Path target) throws IOException
+	{
+		return FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Run everything from position to the end of the input channel through the
+	 * cipher and write the result to the output channel.
+	 */
+	private static void transform(Cipher cipher, FileChannel in, long position, FileChannel out) throws IOException, GeneralSecurityException
+	{
+		final ByteBuffer output = ByteBuffer.allocateDirect(CHUNK_SIZE + 2 * AESCiphers.BLOCK_SIZE);
+		final long size = in.size();
+		while (position < size)
+		{
+			final long length = Math.min(WINDOW_SIZE, size - position);
+			final MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+			while (window.hasRemaining())
+			{
+				final ByteBuffer chunk = window.duplicate();
+				chunk.limit(chunk.position() + Math.min(CHUNK_SIZE, chunk.remaining()));
+				window.position(chunk.limit());
+
+				output.clear();
+				cipher.update(chunk, output);
+				output.flip();
+				writeFully(out, output);
+			}
+			position += length;
+		}
+		output.clear();
+		cipher.doFinal(ByteBuffer.allocate(0), output);
+		output.flip();
+		writeFully(out, output);
+	}
+
+	private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			out.write(buffer);
+		}
+	}
+}
@@ -0,0 +1,273 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * Authenticated AES encryption in GCM mode.
+ * <p>
+ * GCM gives confidentiality and integrity in one pass, so there is no need
+ * for a separate HMAC over the data, and tampered ciphertext is rejected
+ * before any of it is returned. The byte[] and String overloads write a
+ * random 12 byte nonce followed by the ciphertext and 16 byte tag.</p>
+ * <p>
+ * The stream overloads split the data into 64 KB segments, each with its own
+ * tag, so a tampered stream is rejected as it arrives instead of after it
+ * has been read to the end. Every segment nonce is a random stream prefix,
+ * the segment number and a flag marking the last segment, so segments
+ * cannot be reordered, dropped or truncated without detection.</p>
+ * <p>
+ * The key bytes are interchangeable with AESService. GCM needs Java 8, or
+ * the Bouncy Castle provider on Java 7.</p>
+ */
+public class AESGCMService
+{
+
+	/**
+	 * Plaintext bytes in each stream segment.
+	 */
+	public static final int SEGMENT_SIZE = 64 * 1024;
+
+	static final String GCM = "AES/GCM/NoPadding";
+	static final int NONCE_SIZE = 12;
+	static final int TAG_SIZE = 16;
+	private static final int PREFIX_SIZE = 7;
+	private static final int KEY_SIZE = 32;
+
+	private SecretKeySpec key = null;
+
+	/**
+	 * Create a service with no key. Call generateKey or setAesKey before use.
+	 */
+	public AESGCMService()
+	{
+	}
+
+	/**
+	 * Create a service that uses the key of an existing AESService, for
+	 * example one created from a password and salt.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 */
+	public AESGCMService(AESService aes)
+	{
+		setAesKey(aes.getAesKey());
+	}
+
+	/**
+	 * Generate a random 256-bit key.
+	 */
+	public void generateKey()
+	{
+		byte[] bytes = new byte[KEY_SIZE];
+		AESCiphers.RANDOM.nextBytes(bytes);
+		setAesKey(bytes);
+	}
+
+	/**
+	 * @return A copy of the key bytes.
+	 */
+	public byte[] getAesKey()
+	{
+		return key.getEncoded();
+	}
+
+	/**
+	 * @param aes_key The key bytes to use.
+	 */
+	public void setAesKey(byte[] aes_key)
+	{
+		key = AESCiphers.key(aes_key);
+	}
+
+	/**
+	 * Encrypt a byte array.
+	 *
+	 * @param data The data to encrypt.
+	 * @return The nonce, ciphertext and tag.
+	 * @throws GeneralSecurityException
+	 */
+	public byte[] encode(byte[] data) throws GeneralSecurityException
+	{
+		final byte[] nonce = new byte[NONCE_SIZE];
+		AESCiphers.RANDOM.nextBytes(nonce);
+		final byte[] output = new byte[NONCE_SIZE + data.length + TAG_SIZE];
+		System.arraycopy(nonce, 0, output, 0, NONCE_SIZE);
+		final Cipher cipher = AESCiphers.getInstance(GCM);
+		cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_SIZE * 8, nonce));
+		cipher.doFinal(data, 0, data.length, output, NONCE_SIZE);
+		return output;
+	}
+
+	/**
+	 * Encrypt the UTF-8 bytes of a String.
+	 *
+	 * @param data The String to encrypt.
+	 * @return The nonce, ciphertext and tag.
+	 * @throws GeneralSecurityException
+	 */
+	public byte[] encode(String data) throws GeneralSecurityException
+	{
+		return encode(data.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decrypt and verify a byte array written by encode.
+	 *
+	 * @param data The nonce, ciphertext and tag.
+	 * @return The plaintext.
+	 * @throws GeneralSecurityException If the data was tampered with.
+	 */
+	public byte[] decode(byte[] data) throws GeneralSecurityException
+	{
+		if (data.length < NONCE_SIZE + TAG_SIZE)
+		{
+			throw new GeneralSecurityException("Ciphertext is too short.");
+		}
+		final Cipher cipher = AESCiphers.getInstance(GCM);
+		cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_SIZE * 8, data, 0, NONCE_SIZE));
+		return cipher.doFinal(data, NONCE_SIZE, data.length - NONCE_SIZE);
+	}
+
+	/**
+	 * Encrypt a stream in authenticated segments.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the segments are written to.
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public void encode(InputStream instream, OutputStream outstream) throws IOException, GeneralSecurityException
+	{
+		final byte[] prefix = new byte[PREFIX_SIZE];
+		AESCiphers.RANDOM.nextBytes(prefix);
+		outstream.write(prefix);
+
+		final Cipher cipher = AESCiphers.getInstance(GCM);
+		final byte[] output = new byte[SEGMENT_SIZE + TAG_SIZE];
+		byte[] current = new byte[SEGMENT_SIZE];
+		byte[] next = new byte[SEGMENT_SIZE];
+		int length = Streams.readFully(instream, current);
+		int index = 0;
+		while (true)
+		{
+			int nextLength = length < SEGMENT_SIZE ? 0 : Streams.readFully(instream, next);
+			boolean last = nextLength == 0;
+
+			cipher.init(Cipher.ENCRYPT_MODE, key, segmentSpec(prefix, index, last));
+			int n = cipher.doFinal(current, 0, length, output, 0);
+			outstream.write(output, 0, n);
+			if (last)
+			{
+				break;
+			}
+
+			byte[] swap = current;
+			current = next;
+			next = swap;
+			length = nextLength;
+			index = nextIndex(index);
+		}
+		outstream.flush();
+	}
+
+	/**
+	 * Decrypt and verify a stream written by encode. Each segment is verified
+	 * before it is written, so tampering stops the stream at the first bad
+	 * segment.
+	 *
+	 * @param instream The segments to decrypt.
+	 * @param outstream The stream the plaintext is written to.
+	 * @throws IOException
+	 * @throws GeneralSecurityException If the stream was tampered with.
+	 */
+	public void decode(InputStream instream, OutputStream outstream) throws IOException, GeneralSecurityException
+	{
+		final byte[] prefix = new byte[PREFIX_SIZE];
+		if (Streams.readFully(instream, prefix) != PREFIX_SIZE)
+		{
+			throw new GeneralSecurityException("Ciphertext is too short.");
+		}
+
+		final Cipher cipher = AESCiphers.getInstance(GCM);
+		final byte[] output = new byte[SEGMENT_SIZE];
+		byte[] current = new byte[SEGMENT_SIZE + TAG_SIZE];
+		byte[] next = new byte[SEGMENT_SIZE + TAG_SIZE];
+		int length = Streams.readFully(instream, current);
+		int index = 0;
+		while (true)
+		{
+			if (length < TAG_SIZE)
+			{
+				throw new GeneralSecurityException("Ciphertext is truncated.");
+			}
+			int nextLength = length < current.length ? 0 : Streams.readFully(instream, next);
+			boolean last = nextLength == 0;
+
+			cipher.init(Cipher.DECRYPT_MODE, key, segmentSpec(prefix, index, last));
+			int n = cipher.doFinal(current, 0, length, output, 0);
+			outstream.write(output, 0, n);
+			if (last)
+			{
+				break;
+			}
+
+			byte[] swap = current;
+			current = next;
+			next = swap;
+			length = nextLength;
+			index = nextIndex(index);
+		}
+		outstream.flush();
+	}
+
+	/**
+	 * The nonce of a stream segment: prefix, segment number, last flag.
+	 */
+	private static GCMParameterSpec segmentSpec(byte[] prefix, int index, boolean last)
+	{
+		ByteBuffer nonce = ByteBuffer.allocate(NONCE_SIZE);
+		nonce.put(prefix).putInt(index).put((byte) (last ? 1 : 0));
+		return new GCMParameterSpec(TAG_SIZE * 8, nonce.array());
+	}
+
+	private static int nextIndex(int index) throws IOException
+	{
+		if (index == Integer.MAX_VALUE)
+		{
+			throw new IOException("Stream is too long.");
+		}
+		return index + 1;
+	}
+}
@@ -0,0 +1,306 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * Opt-in cache of AES keys derived by AESService.generateKey(password, salt).
+ * <p>
+ * Key derivation is deliberately slow, so a server that derives the same key
+ * on every request for a user spends most of its time there. This cache
+ * remembers derived keys for a limited time. Entries are looked up by an
+ * HMAC of the password and salt under a secret that lives only as long as
+ * the cache, so neither is held in memory. Key bytes are overwritten with
+ * zeros when they expire, are evicted or are invalidated.</p>
+ */
+public class AESKeyCache
+{
+
+	/**
+	 * Default number of keys held.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+	/**
+	 * Default time a key is held, 15 minutes.
+	 */
+	public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+	private final int capacity;
+	private final long ttlMillis;
+	private final Map<String, CachedKey> keys;
+	private final SecretKeySpec lookupSecret;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong expirations = new AtomicLong();
+
+	/**
+	 * Create a cache with the default capacity and time to live.
+	 */
+	public AESKeyCache()
+	{
+		this(DEFAULT_CAPACITY, DEFAULT_TTL_MILLIS);
+	}
+
+	/**
+	 * Create a cache.
+	 *
+	 * @param capacity The maximum number of keys held.
+	 * @param ttlMillis How long a key is held after it is derived.
+	 */
+	public AESKeyCache(int capacity, long ttlMillis)
+	{
+		if (capacity <= 0 || ttlMillis <= 0)
+		{
+			throw new IllegalArgumentException("Capacity and time to live must be positive.");
+		}
+		this.capacity = capacity;
+		this.ttlMillis = ttlMillis;
+		this.keys = new LinkedHashMap<String, CachedKey>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedKey> eldest)
+			{
+				if (size() > AESKeyCache.this.capacity)
+				{
+					evictions.incrementAndGet();
+					eldest.getValue().wipe();
+					return true;
+				}
+				return false;
+			}
+		};
+
+		byte[] secret = new byte[32];
+		new SecureRandom().nextBytes(secret);
+		this.lookupSecret = new SecretKeySpec(secret, "HmacSHA256");
+	}
+
+	/**
+	 * Get an AESService holding the key for a password and salt, deriving the
+	 * key only if it is not cached.
+	 *
+	 * @param password The password.
+	 * @param salt The salt.
+	 * @return An AESService ready to encode and decode.
+	 * @throws Exception
+	 */
+	public AESService getAESService(String password, byte[] salt) throws Exception
+	{
+		AESService aes = new AESService();
+		aes.setAesKey(getAesKey(password, salt));
+		return aes;
+	}
+
+	/**
+	 * Get the key bytes for a password and salt, deriving the key only if it
+	 * is not cached.
+	 *
+	 * @param password The password.
+	 * @param salt The salt.
+	 * @return A copy of the key bytes the caller may wipe when done.
+	 * @throws Exception
+	 */
+	public byte[] getAesKey(String password, byte[] salt) throws Exception
+	{
+		final String lookup = lookup(password, salt);
+		synchronized (this)
+		{
+			CachedKey entry = keys.get(lookup);
+			if (entry != null)
+			{
+				if (entry.expires > System.currentTimeMillis())
+				{
+					hits.incrementAndGet();
+					return entry.key.clone();
+				}
+				keys.remove(lookup);
+				entry.wipe();
+				expirations.incrementAndGet();
+			}
+			misses.incrementAndGet();
+		}
+
+		// Derive outside the lock so one slow derivation does not block hits.
+		AESService aes = new AESService();
+		aes.generateKey(password, salt);
+		byte[] key = aes.getAesKey();
+
+		synchronized (this)
+		{
+			CachedKey previous = keys.put(lookup, new CachedKey(key.clone(), System.currentTimeMillis() + ttlMillis));
+			if (previous != null)
+			{
+				previous.wipe();
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Drop and wipe the key for a password and salt, for example after the
+	 * user changed the password.
+	 *
+	 * @param password The password.
+	 * @param salt The salt.
+	 * @throws GeneralSecurityException
+	 */
+	public void invalidate(String password, byte[] salt) throws GeneralSecurityException
+	{
+		final String lookup = lookup(password, salt);
+		synchronized (this)
+		{
+			CachedKey entry = keys.remove(lookup);
+			if (entry != null)
+			{
+				entry.wipe();
+			}
+		}
+	}
+
+	/**
+	 * Drop and wipe every expired key. Expired keys are also dropped when they
+	 * are looked up, this reclaims the ones nobody asks for again.
+	 */
+	public synchronized void purgeExpired()
+	{
+		long now = System.currentTimeMillis();
+		Iterator<CachedKey> iterator = keys.values().iterator();
+		while (iterator.hasNext())
+		{
+			CachedKey entry = iterator.next();
+			if (entry.expires <= now)
+			{
+				iterator.remove();
+				entry.wipe();
+				expirations.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Drop and wipe every key.
+	 */
+	public synchronized void clear()
+	{
+		for (CachedKey entry : keys.values())
+		{
+			entry.wipe();
+		}
+		keys.clear();
+	}
+
+	/**
+	 * @return The number of keys held.
+	 */
+	public synchronized int getSize()
+	{
+		return keys.size();
+	}
+
+	/**
+	 * @return The number of lookups that skipped key derivation.
+	 */
+	public long getHits()
+	{
+		return hits.get();
+	}
+
+	/**
+	 * @return The number of lookups that derived the key.
+	 */
+	public long getMisses()
+	{
+		return misses.get();
+	}
+
+	/**
+	 * @return The number of keys evicted to make room.
+	 */
+	public long getEvictions()
+	{
+		return evictions.get();
+	}
+
+	/**
+	 * @return The number of keys dropped because they expired.
+	 */
+	public long getExpirations()
+	{
+		return expirations.get();
+	}
+
+	private String lookup(String password, byte[] salt) throws GeneralSecurityException
+	{
+		byte[] bytes = password.getBytes(StandardCharsets.UTF_8);
+		try
+		{
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(lookupSecret);
+			// Length prefixes keep every password and salt pair distinct,
+			// whatever bytes either contains.
+			mac.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+			mac.update(bytes);
+			mac.update(ByteBuffer.allocate(4).putInt(salt.length).array());
+			mac.update(salt);
+			return new BigInteger(1, mac.doFinal()).toString(16);
+		}
+		finally
+		{
+			Arrays.fill(bytes, (byte) 0);
+		}
+	}
+
+	private static final class CachedKey
+	{
+
+		private final byte[] key;
+		private final long expires;
+
+		CachedKey(byte[] key, long expires)
+		{
+			this.key = key;
+			this.expires = expires;
+		}
+
+		void wipe()
+		{
+			Arrays.fill(key, (byte) 0);
+		}
+	}
+}
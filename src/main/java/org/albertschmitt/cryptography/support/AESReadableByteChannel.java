@@ -0,0 +1,199 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.security.GeneralSecurityException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * A ReadableByteChannel that decrypts what it reads from another channel.
+ * <p>
+ * It reads the layout AESWritableByteChannel and AESFileService write: a
+ * random IV followed by the AES/CBC ciphertext. The source may be a
+ * non-blocking socket. A read that cannot make progress returns 0 and keeps
+ * any partial IV or block for the next call, so a selector loop can call
+ * read whenever the key is readable.</p>
+ * <p>
+ * A channel holds cipher state, so it is not thread safe.</p>
+ */
+public class AESReadableByteChannel implements ReadableByteChannel
+{
+
+	/**
+	 * The most ciphertext decrypted per read from the source.
+	 */
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private final ReadableByteChannel channel;
+	private final SecretKeySpec key;
+	private final ByteBuffer iv = ByteBuffer.allocate(AESCiphers.IV_SIZE);
+	private final ByteBuffer input = ByteBuffer.allocate(CHUNK_SIZE);
+	private final ByteBuffer output = ByteBuffer.allocate(CHUNK_SIZE + 2 * AESCiphers.BLOCK_SIZE);
+	private Cipher cipher = null;
+	private boolean done = false;
+	private boolean open = true;
+
+	/**
+	 * Create a channel that uses the key of an existing AESService.
+	 *
+	 * @param channel The channel the ciphertext is read from.
+	 * @param aes The AESService whose key will be used.
+	 */
+	public AESReadableByteChannel(ReadableByteChannel channel, AESService aes)
+	{
+		this(channel, aes.getAesKey());
+	}
+
+	/**
+	 * Create a channel from raw AES key bytes.
+	 *
+	 * @param channel The channel the ciphertext is read from.
+	 * @param aesKey The AES key bytes.
+	 */
+	public AESReadableByteChannel(ReadableByteChannel channel, byte[] aesKey)
+	{
+		this.channel = channel;
+		this.key = AESCiphers.key(aesKey);
+		this.output.flip();
+	}
+
+	/**
+	 * Decrypt into the destination buffer.
+	 *
+	 * @param dst The buffer the plaintext is copied into.
+	 * @return The number of plaintext bytes copied, 0 if the source has
+	 * nothing to read yet, or -1 at the end of the plaintext.
+	 * @throws IOException
+	 */
+	@Override
+	public int read(ByteBuffer dst) throws IOException
+	{
+		if (!open)
+		{
+			throw new ClosedChannelException();
+		}
+		if (!dst.hasRemaining())
+		{
+			return 0;
+		}
+
+		while (!output.hasRemaining())
+		{
+			if (done)
+			{
+				return -1;
+			}
+			final int n = channel.read(cipher == null ? iv : input);
+			if (n == 0)
+			{
+				return 0;
+			}
+			if (n == -1)
+			{
+				if (cipher == null)
+				{
+					throw new EOFException("Encrypted stream is too short.");
+				}
+				done = true;
+			}
+			else if (cipher == null)
+			{
+				if (!iv.hasRemaining())
+				{
+					startCipher();
+				}
+				continue;
+			}
+			transform();
+		}
+
+		final int count = Math.min(dst.remaining(), output.remaining());
+		final ByteBuffer chunk = output.duplicate();
+		chunk.limit(chunk.position() + count);
+		dst.put(chunk);
+		output.position(output.position() + count);
+		return count;
+	}
+
+	@Override
+	public boolean isOpen()
+	{
+		return open && channel.isOpen();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		open = false;
+		channel.close();
+	}
+
+	private void startCipher() throws IOException
+	{
+		try
+		{
+			cipher = AESCiphers.getInstance(AESCiphers.CBC);
+			cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv.array()));
+		}
+		catch (GeneralSecurityException ex)
+		{
+			throw new IOException("Could not start the cipher.", ex);
+		}
+	}
+
+	/**
+	 * Run the buffered ciphertext through the cipher, ending it if the source
+	 * is at its end.
+	 */
+	private void transform() throws IOException
+	{
+		input.flip();
+		output.clear();
+		try
+		{
+			if (done)
+			{
+				cipher.doFinal(input, output);
+			}
+			else
+			{
+				cipher.update(input, output);
+			}
+		}
+		catch (GeneralSecurityException ex)
+		{
+			throw new IOException("Could not decrypt the data.", ex);
+		}
+		input.clear();
+		output.flip();
+	}
+}
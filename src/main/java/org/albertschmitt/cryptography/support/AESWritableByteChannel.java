@@ -0,0 +1,220 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.security.GeneralSecurityException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * A WritableByteChannel that encrypts everything written to it before
+ * passing it on to another channel.
+ * <p>
+ * The output is a random IV followed by the AES/CBC ciphertext, the same
+ * layout AESFileService writes. The target may be a non-blocking socket:
+ * ciphertext the target will not take yet is held back, and write then
+ * accepts no more plaintext until flush has drained it. A selector loop
+ * should call flush when the key is writable, and finish until it returns
+ * true once the last plaintext has been written.</p>
+ * <p>
+ * A channel holds cipher state, so it is not thread safe.</p>
+ */
+public class AESWritableByteChannel implements WritableByteChannel
+{
+
+	/**
+	 * The most plaintext encrypted per write.
+	 */
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private final WritableByteChannel channel;
+	private final Cipher cipher;
+	private final ByteBuffer pending;
+	private boolean finished = false;
+	private boolean open = true;
+
+	/**
+	 * Create a channel that uses the key of an existing AESService.
+	 *
+	 * @param channel The channel the ciphertext is written to.
+	 * @param aes The AESService whose key will be used.
+	 * @throws GeneralSecurityException
+	 */
+	public AESWritableByteChannel(WritableByteChannel channel, AESService aes) throws GeneralSecurityException
+	{
+		this(channel, aes.getAesKey());
+	}
+
+	/**
+	 * Create a channel from raw AES key bytes.
+	 *
+	 * @param channel The channel the ciphertext is written to.
+	 * @param aesKey The AES key bytes.
+	 * @throws GeneralSecurityException
+	 */
+	public AESWritableByteChannel(WritableByteChannel channel, byte[] aesKey) throws GeneralSecurityException
+	{
+		final byte[] iv = AESCiphers.randomIV();
+		this.channel = channel;
+		this.cipher = AESCiphers.getInstance(AESCiphers.CBC);
+		this.cipher.init(Cipher.ENCRYPT_MODE, AESCiphers.key(aesKey), new IvParameterSpec(iv));
+		this.pending = ByteBuffer.allocate(CHUNK_SIZE + 2 * AESCiphers.BLOCK_SIZE);
+		this.pending.put(iv).flip();
+	}
+
+	/**
+	 * Encrypt up to 64 KB of the source buffer.
+	 *
+	 * @param src The plaintext.
+	 * @return The number of plaintext bytes taken, which is 0 while earlier
+	 * ciphertext is still waiting for the target.
+	 * @throws IOException
+	 */
+	@Override
+	public int write(ByteBuffer src) throws IOException
+	{
+		ensureOpen();
+		if (finished)
+		{
+			throw new IllegalStateException("No more data can be written after finish.");
+		}
+		if (!flush())
+		{
+			return 0;
+		}
+
+		final int count = Math.min(src.remaining(), CHUNK_SIZE);
+		final ByteBuffer chunk = src.duplicate();
+		chunk.limit(chunk.position() + count);
+		pending.clear();
+		try
+		{
+			cipher.update(chunk, pending);
+		}
+		catch (GeneralSecurityException ex)
+		{
+			throw new IOException("Could not encrypt the data.", ex);
+		}
+		pending.flip();
+		src.position(src.position() + count);
+		flush();
+		return count;
+	}
+
+	/**
+	 * Write as much held back ciphertext as the target will take.
+	 *
+	 * @return True if nothing is held back any more.
+	 * @throws IOException
+	 */
+	public boolean flush() throws IOException
+	{
+		ensureOpen();
+		while (pending.hasRemaining())
+		{
+			if (channel.write(pending) == 0)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * End the ciphertext with its final padded block. Call again until it
+	 * returns true if the target is non-blocking.
+	 *
+	 * @return True once all of the ciphertext has reached the target.
+	 * @throws IOException
+	 */
+	public boolean finish() throws IOException
+	{
+		if (!finished)
+		{
+			if (!flush())
+			{
+				return false;
+			}
+			pending.clear();
+			try
+			{
+				cipher.doFinal(ByteBuffer.allocate(0), pending);
+			}
+			catch (GeneralSecurityException ex)
+			{
+				throw new IOException("Could not encrypt the data.", ex);
+			}
+			pending.flip();
+			finished = true;
+		}
+		return flush();
+	}
+
+	@Override
+	public boolean isOpen()
+	{
+		return open && channel.isOpen();
+	}
+
+	/**
+	 * Finish the ciphertext and close the target channel.
+	 *
+	 * @throws IOException If the target would not take the rest of the
+	 * ciphertext; call finish until it returns true before closing a
+	 * non-blocking channel.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if (!open)
+		{
+			return;
+		}
+		try
+		{
+			if (!finish())
+			{
+				throw new IOException("Channel closed before all of the ciphertext was written.");
+			}
+		}
+		finally
+		{
+			open = false;
+			channel.close();
+		}
+	}
+
+	private void ensureOpen() throws ClosedChannelException
+	{
+		if (!open)
+		{
+			throw new ClosedChannelException();
+		}
+	}
+}
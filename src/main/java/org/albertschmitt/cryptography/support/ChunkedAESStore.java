@@ -0,0 +1,355 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * Store large files as encrypted content-defined chunks so that a file which
+ * changed a little is re-encrypted a little.
+ * <p>
+ * store splits the input with a ContentChunker and names each chunk by its
+ * HMAC-SHA256. A chunk whose name is already in the store is not encrypted
+ * or written again, so storing a new version of a file costs only the
+ * chunks around the edits plus a small manifest. Chunks and manifests are
+ * sealed with AESGCMService.</p>
+ * <p>
+ * Chunk names are keyed hashes rather than plain SHA-256 so that someone who
+ * can list the store cannot test whether it holds a file they know. The
+ * directory is laid out as:</p>
+ * <pre>
+ * chunks/ab/abcdef...   one sealed chunk, named by the hex of its HMAC
+ * manifests/name        sealed: int magic, long length, int count, { byte[32] id, int length }*
+ * </pre>
+ * <p>
+ * A store is not thread safe, and only one process should write to a
+ * directory at a time.</p>
+ */
+public class ChunkedAESStore
+{
+
+	private static final int MAGIC = 0x43484b53;
+	private static final int ID_SIZE = 32;
+	private static final String CHUNKS = "chunks";
+	private static final String MANIFESTS = "manifests";
+	private static final Pattern NAME = Pattern.compile("[A-Za-z0-9._-]+");
+	private static final byte[] ID_LABEL = "ChunkedAESStore chunk id".getBytes(StandardCharsets.UTF_8);
+
+	private final Path directory;
+	private final AESGCMService gcm;
+	private final HMACEngine ids;
+
+	/**
+	 * Open or create a store.
+	 *
+	 * @param directory The directory the store lives in.
+	 * @param aes The AESService whose key will be used.
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public ChunkedAESStore(Path directory, AESService aes) throws IOException, GeneralSecurityException
+	{
+		this.directory = directory;
+		this.gcm = new AESGCMService(aes);
+		this.ids = new HMACEngine(HMACEngine.sha256(aes.getAesKey(), ID_LABEL));
+		Files.createDirectories(directory.resolve(CHUNKS));
+		Files.createDirectories(directory.resolve(MANIFESTS));
+	}
+
+	/**
+	 * Store a stream under a name, replacing any earlier version. Only chunks
+	 * the store does not hold yet are encrypted and written.
+	 *
+	 * @param name The name to store under, made of letters, digits, '.', '_'
+	 * and '-'.
+	 * @param instream The data to store.
+	 * @return What was written.
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public Result store(String name, InputStream instream) throws IOException, GeneralSecurityException
+	{
+		final Path manifest = manifestPath(name);
+		final ByteArrayOutputStream index = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(index);
+		final ContentChunker chunker = new ContentChunker(instream);
+		long length = 0;
+		int count = 0;
+		int written = 0;
+		long bytesWritten = 0;
+		byte[] chunk;
+		while ((chunk = chunker.next()) != null)
+		{
+			ids.update(chunk);
+			final byte[] id = ids.doFinal();
+			final Path path = chunkPath(id);
+			if (!Files.exists(path))
+			{
+				byte[] sealed = gcm.encode(chunk);
+				Files.createDirectories(path.getParent());
+				writeAtomically(path, sealed);
+				written++;
+				bytesWritten += sealed.length;
+			}
+			out.write(id);
+			out.writeInt(chunk.length);
+			length += chunk.length;
+			count++;
+		}
+
+		final ByteArrayOutputStream plain = new ByteArrayOutputStream(index.size() + 16);
+		final DataOutputStream header = new DataOutputStream(plain);
+		header.writeInt(MAGIC);
+		header.writeLong(length);
+		header.writeInt(count);
+		index.writeTo(header);
+		final byte[] sealed = gcm.encode(plain.toByteArray());
+		writeAtomically(manifest, sealed);
+		bytesWritten += sealed.length;
+		return new Result(length, count, written, bytesWritten);
+	}
+
+	/**
+	 * Reassemble a stored stream. Every chunk is verified, and checked
+	 * against the name the manifest gives it, before it is written.
+	 *
+	 * @param name The name it was stored under.
+	 * @param outstream The stream the data is written to.
+	 * @throws IOException If a chunk is missing or does not match.
+	 * @throws GeneralSecurityException If a chunk or the manifest was tampered
+	 * with.
+	 */
+	public void restore(String name, OutputStream outstream) throws IOException, GeneralSecurityException
+	{
+		final DataInputStream in = openManifest(manifestPath(name));
+		final long length = in.readLong();
+		final int count = in.readInt();
+		final byte[] id = new byte[ID_SIZE];
+		long total = 0;
+		for (int i = 0; i < count; i++)
+		{
+			in.readFully(id);
+			final int size = in.readInt();
+			final byte[] chunk = gcm.decode(Files.readAllBytes(chunkPath(id)));
+			ids.update(chunk);
+			// Always finish the HMAC, or the chunk would leak into the next id.
+			final boolean authentic = ids.verify(id);
+			if (chunk.length != size || !authentic)
+			{
+				throw new IOException("Chunk " + RawDigestSHA.toHex(id) + " does not match the manifest.");
+			}
+			outstream.write(chunk);
+			total += size;
+		}
+		if (total != length)
+		{
+			throw new IOException("Manifest " + name + " is corrupt.");
+		}
+		outstream.flush();
+	}
+
+	/**
+	 * Remove a stored name. Its chunks stay until purge is called.
+	 *
+	 * @param name The name to remove.
+	 * @return True if it was stored.
+	 * @throws IOException
+	 */
+	public boolean delete(String name) throws IOException
+	{
+		return Files.deleteIfExists(manifestPath(name));
+	}
+
+	/**
+	 * Delete every chunk no manifest refers to any more.
+	 *
+	 * @return The number of chunks deleted.
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public int purge() throws IOException, GeneralSecurityException
+	{
+		final Set<String> live = new HashSet<>();
+		try (DirectoryStream<Path> manifests = Files.newDirectoryStream(directory.resolve(MANIFESTS)))
+		{
+			for (Path manifest : manifests)
+			{
+				if (!isName(manifest.getFileName().toString()))
+				{
+					continue;
+				}
+				DataInputStream in = openManifest(manifest);
+				in.readLong();
+				final int count = in.readInt();
+				final byte[] id = new byte[ID_SIZE];
+				for (int i = 0; i < count; i++)
+				{
+					in.readFully(id);
+					in.readInt();
+					live.add(RawDigestSHA.toHex(id));
+				}
+			}
+		}
+
+		final int[] deleted = new int[1];
+		Files.walkFileTree(directory.resolve(CHUNKS), new SimpleFileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+			{
+				if (!live.contains(file.getFileName().toString()))
+				{
+					Files.delete(file);
+					deleted[0]++;
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return deleted[0];
+	}
+
+	/**
+	 * What a call to store wrote.
+	 */
+	public static class Result
+	{
+
+		private final long length;
+		private final int chunks;
+		private final int newChunks;
+		private final long bytesWritten;
+
+		Result(long length, int chunks, int newChunks, long bytesWritten)
+		{
+			this.length = length;
+			this.chunks = chunks;
+			this.newChunks = newChunks;
+			this.bytesWritten = bytesWritten;
+		}
+
+		/**
+		 * @return The length of the stored data.
+		 */
+		public long getLength()
+		{
+			return length;
+		}
+
+		/**
+		 * @return The number of chunks the data was split into.
+		 */
+		public int getChunks()
+		{
+			return chunks;
+		}
+
+		/**
+		 * @return The number of chunks that were not in the store and had to
+		 * be encrypted and written.
+		 */
+		public int getNewChunks()
+		{
+			return newChunks;
+		}
+
+		/**
+		 * @return The bytes written to disk, new chunks plus the manifest.
+		 */
+		public long getBytesWritten()
+		{
+			return bytesWritten;
+		}
+	}
+
+	private Path manifestPath(String name)
+	{
+		if (!isName(name))
+		{
+			throw new IllegalArgumentException("Invalid name " + name + ".");
+		}
+		return directory.resolve(MANIFESTS).resolve(name);
+	}
+
+	/**
+	 * Names may not start with '.', which keeps them apart from the
+	 * temporary files writeAtomically leaves behind after a crash.
+	 */
+	private static boolean isName(String name)
+	{
+		return NAME.matcher(name).matches() && !name.startsWith(".");
+	}
+
+	private Path chunkPath(byte[] id)
+	{
+		final String hex = RawDigestSHA.toHex(id);
+		return directory.resolve(CHUNKS).resolve(hex.substring(0, 2)).resolve(hex);
+	}
+
+	private DataInputStream openManifest(Path manifest) throws IOException, GeneralSecurityException
+	{
+		final DataInputStream in = new DataInputStream(new ByteArrayInputStream(gcm.decode(Files.readAllBytes(manifest))));
+		if (in.readInt() != MAGIC)
+		{
+			throw new IOException(manifest + " is not a ChunkedAESStore manifest.");
+		}
+		return in;
+	}
+
+	/**
+	 * Write to a temporary file and move it into place, so a crash never
+	 * leaves a half written chunk or manifest under its real name.
+	 */
+	private static void writeAtomically(Path path, byte[] data) throws IOException
+	{
+		final Path temp = Files.createTempFile(path.getParent(), ".tmp", null);
+		try
+		{
+			Files.write(temp, data);
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+}
@@ -0,0 +1,423 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.security.GeneralSecurityException;
+import java.security.Provider;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Chooses which provider implements the ciphers of the JCE based support
+ * services: AESFileService, AESGCMService, AESBufferService, the AES
+ * channels and SeekableAESService.
+ * <p>
+ * The JCE engine is whatever Cipher.getInstance finds first, normally the
+ * JDK's own provider, whose AES uses the AES-NI instructions where the CPU
+ * has them. The Bouncy Castle engine is the pure Java provider AESService and
+ * RSAService are built on. It is loaded by reflection, so it is only
+ * available when bcprov is on the class path, and it is not registered with
+ * java.security.Security.</p>
+ * <p>
+ * JCE is used until an engine is selected, either for every transformation
+ * or for one. autoSelect times each available engine on a few MB of data per
+ * transformation, which takes about a second, and keeps the fastest.
+ * Start the JVM with -Dorg.albertschmitt.cryptography.engine=auto to do that
+ * the first time an engine is asked for, or with jce or bouncy_castle (or bc)
+ * to force an engine. Ciphers asked for on other threads while the timing
+ * runs come from JCE. Selecting an engine explicitly first cancels the
+ * pending timing. The choice is logged, and a value that cannot be honoured
+ * is logged as a warning naming the engine used instead. report describes
+ * the engine in use for each transformation.</p>
+ */
+public final class CipherEngines
+{
+
+	/**
+	 * The providers a cipher can come from.
+	 */
+	public enum Engine
+	{
+		/**
+		 * The first provider Cipher.getInstance finds, normally the JDK's.
+		 */
+		JCE,
+		/**
+		 * The Bouncy Castle provider.
+		 */
+		BOUNCY_CASTLE
+	}
+
+	/**
+	 * Set this system property to auto, jce or bouncy_castle to choose the
+	 * engine from startup. Case does not matter, and bc, bouncy-castle and
+	 * bouncycastle are accepted for bouncy_castle.
+	 */
+	public static final String PROPERTY = "org.albertschmitt.cryptography.engine";
+	/**
+	 * The property value that runs autoSelect.
+	 */
+	public static final String AUTO = "auto";
+
+	private static final String BOUNCY_CASTLE_PROVIDER = "org.bouncycastle.jce.provider.BouncyCastleProvider";
+	/**
+	 * Every transformation the support services ask for.
+	 */
+	private static final String[] TRANSFORMATIONS =
+	{
+		AESCiphers.CBC, AESBufferService.CBC_NO_PADDING, AESGCMService.GCM
+	};
+	/**
+	 * Bytes encrypted per timed round; a multiple of the block size so the
+	 * NoPadding transformations accept it.
+	 */
+	private static final int SAMPLE_SIZE = 64 * 1024;
+	private static final int WARMUP_ROUNDS = 32;
+	private static final int TIMED_ROUNDS = 16;
+	private static final int TRIALS = 3;
+
+	private static final Logger LOG = Logger.getLogger(CipherEngines.class.getName());
+	private static final Provider BOUNCY_CASTLE = loadBouncyCastle();
+	private static final ConcurrentMap<String, Engine> selected = new ConcurrentHashMap<>();
+	private static volatile Engine defaultEngine = Engine.JCE;
+	private static volatile boolean autoPending;
+
+	static
+	{
+		String property = System.getProperty(PROPERTY);
+		if (property != null)
+		{
+			configure(property.trim());
+		}
+	}
+
+	private CipherEngines()
+	{
+	}
+
+	/**
+	 * @param engine The engine to check.
+	 * @return True if the engine can be selected.
+	 */
+	public static boolean isAvailable(Engine engine)
+	{
+		return engine == Engine.JCE || BOUNCY_CASTLE != null;
+	}
+
+	/**
+	 * Use one engine for every transformation, replacing any earlier
+	 * selection.
+	 *
+	 * @param engine The engine to use.
+	 */
+	public static void select(Engine engine)
+	{
+		checkAvailable(engine);
+		autoPending = false;
+		selected.clear();
+		defaultEngine = engine;
+	}
+
+	/**
+	 * Use an engine for one transformation.
+	 *
+	 * @param transformation The transformation, for example
+	 * "AES/GCM/NoPadding".
+	 * @param engine The engine to use.
+	 */
+	public static void select(String transformation, Engine engine)
+	{
+		checkAvailable(engine);
+		autoPending = false;
+		selected.put(transformation, engine);
+	}
+
+	/**
+	 * @param transformation The transformation.
+	 * @return The engine ciphers for the transformation come from.
+	 */
+	public static Engine getEngine(String transformation)
+	{
+		if (autoPending)
+		{
+			runPendingAutoSelect();
+		}
+		Engine engine = selected.get(transformation);
+		return engine != null ? engine : defaultEngine;
+	}
+
+	/**
+	 * Time every available engine on each transformation the support services
+	 * use and select the fastest. An engine that cannot provide a
+	 * transformation is passed over.
+	 *
+	 * @return The engine selected for each transformation.
+	 */
+	public static Map<String, Engine> autoSelect()
+	{
+		autoPending = false;
+		final Map<String, Engine> result = new TreeMap<>();
+		for (String transformation : TRANSFORMATIONS)
+		{
+			result.put(transformation, autoSelect(transformation));
+		}
+		return result;
+	}
+
+	/**
+	 * Time every available engine on one transformation and select the
+	 * fastest.
+	 *
+	 * @param transformation The transformation.
+	 * @return The engine selected.
+	 */
+	public static Engine autoSelect(String transformation)
+	{
+		autoPending = false;
+		Engine best = getEngine(transformation);
+		long bestNanos = Long.MAX_VALUE;
+		for (Engine engine : Engine.values())
+		{
+			if (!isAvailable(engine))
+			{
+				continue;
+			}
+			try
+			{
+				long nanos = time(transformation, engine);
+				if (nanos < bestNanos)
+				{
+					best = engine;
+					bestNanos = nanos;
+				}
+			}
+			catch (GeneralSecurityException ex)
+			{
+				// The engine does not provide the transformation.
+			}
+		}
+		selected.put(transformation, best);
+		return best;
+	}
+
+	/**
+	 * Describe the engine and provider in use for each transformation the
+	 * support services use, one line per transformation.
+	 *
+	 * @return The report.
+	 */
+	public static String report()
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (String transformation : TRANSFORMATIONS)
+		{
+			Engine engine = getEngine(transformation);
+			sb.append(transformation).append(": ").append(engine);
+			try
+			{
+				Provider provider = getInstance(transformation).getProvider();
+				sb.append(" (").append(provider.getName()).append(' ').append(provider.getVersion()).append(')');
+			}
+			catch (GeneralSecurityException ex)
+			{
+				sb.append(" (unavailable: ").append(ex.getMessage()).append(')');
+			}
+			sb.append(System.lineSeparator());
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * A cipher for the transformation from the engine selected for it.
+	 */
+	static Cipher getInstance(String transformation) throws GeneralSecurityException
+	{
+		return getInstance(transformation, getEngine(transformation));
+	}
+
+	private static Cipher getInstance(String transformation, Engine engine) throws GeneralSecurityException
+	{
+		if (engine == Engine.BOUNCY_CASTLE)
+		{
+			return Cipher.getInstance(transformation, BOUNCY_CASTLE);
+		}
+		return Cipher.getInstance(transformation);
+	}
+
+	/**
+	 * The best of a few trials, each a fixed number of encryptions of the
+	 * sample after a warm up, so the JIT has compiled the engine first.
+	 */
+	private static long time(String transformation, Engine engine) throws GeneralSecurityException
+	{
+		final Cipher cipher = getInstance(transformation, engine);
+		final SecretKeySpec key = AESCiphers.key(new byte[32]);
+		final byte[] input = new byte[SAMPLE_SIZE];
+		final byte[] output = new byte[SAMPLE_SIZE + AESCiphers.BLOCK_SIZE + AESGCMService.TAG_SIZE];
+		int round = 0;
+		for (int i = 0; i < WARMUP_ROUNDS; i++)
+		{
+			encrypt(cipher, key, transformation, round++, input, output);
+		}
+		long best = Long.MAX_VALUE;
+		for (int trial = 0; trial < TRIALS; trial++)
+		{
+			long start = System.nanoTime();
+			for (int i = 0; i < TIMED_ROUNDS; i++)
+			{
+				encrypt(cipher, key, transformation, round++, input, output);
+			}
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	private static void encrypt(Cipher cipher, SecretKeySpec key, String transformation, int round, byte[] input, byte[] output) throws GeneralSecurityException
+	{
+		cipher.init(Cipher.ENCRYPT_MODE, key, parameters(transformation, round));
+		cipher.doFinal(input, 0, input.length, output, 0);
+	}
+
+	/**
+	 * GCM refuses to encrypt twice with the same nonce, so every round gets
+	 * its own.
+	 */
+	private static AlgorithmParameterSpec parameters(String transformation, int round)
+	{
+		if (transformation.toUpperCase(Locale.ROOT).contains("/GCM/"))
+		{
+			byte[] nonce = new byte[AESGCMService.NONCE_SIZE];
+			nonce[0] = (byte) (round >>> 24);
+			nonce[1] = (byte) (round >>> 16);
+			nonce[2] = (byte) (round >>> 8);
+			nonce[3] = (byte) round;
+			return new GCMParameterSpec(AESGCMService.TAG_SIZE * 8, nonce);
+		}
+		return new IvParameterSpec(new byte[AESCiphers.IV_SIZE]);
+	}
+
+	/**
+	 * Run the timing the property asked for, once, on the first thread that
+	 * needs an engine rather than in the static initializer.
+	 */
+	private static synchronized void runPendingAutoSelect()
+	{
+		if (autoPending)
+		{
+			autoSelect();
+			LOG.log(Level.INFO, "Cipher engines selected by timing:{0}{1}", new Object[]
+			{
+				System.lineSeparator(), report()
+			});
+		}
+	}
+
+	/**
+	 * Apply the system property. A value that names no engine, or an engine
+	 * that is not available, must not stop the ciphers working, so it is
+	 * logged as a warning that names the engine in use instead.
+	 */
+	private static void configure(String property)
+	{
+		if (AUTO.equalsIgnoreCase(property))
+		{
+			autoPending = true;
+			return;
+		}
+		Engine engine = parse(property);
+		if (engine == null)
+		{
+			LOG.log(Level.WARNING, "{0}={1} is not auto, jce or bouncy_castle; using {2}.", new Object[]
+			{
+				PROPERTY, property, defaultEngine
+			});
+		}
+		else if (!isAvailable(engine))
+		{
+			LOG.log(Level.WARNING, "{0}={1} but Bouncy Castle is not on the class path; using {2}.", new Object[]
+			{
+				PROPERTY, property, defaultEngine
+			});
+		}
+		else
+		{
+			defaultEngine = engine;
+			LOG.log(Level.INFO, "Cipher engine {0} selected by {1}.", new Object[]
+			{
+				engine, PROPERTY
+			});
+		}
+	}
+
+	/**
+	 * An engine name in any case, with - or _ between words, or bc for
+	 * Bouncy Castle; null if the name is not recognised.
+	 */
+	private static Engine parse(String name)
+	{
+		String normalized = name.toUpperCase(Locale.ROOT).replace('-', '_');
+		if (normalized.equals("BC") || normalized.equals("BOUNCYCASTLE"))
+		{
+			return Engine.BOUNCY_CASTLE;
+		}
+		for (Engine engine : Engine.values())
+		{
+			if (engine.name().equals(normalized))
+			{
+				return engine;
+			}
+		}
+		return null;
+	}
+
+	private static void checkAvailable(Engine engine)
+	{
+		if (!isAvailable(engine))
+		{
+			throw new IllegalStateException("Bouncy Castle is not on the class path.");
+		}
+	}
+
+	private static Provider loadBouncyCastle()
+	{
+		try
+		{
+			return (Provider) Class.forName(BOUNCY_CASTLE_PROVIDER).getDeclaredConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException | LinkageError ex)
+		{
+			return null;
+		}
+	}
+}
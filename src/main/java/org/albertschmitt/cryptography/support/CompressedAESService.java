@@ -0,0 +1,386 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterOutputStream;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * Compress data before it is encrypted and decompress it after it is
+ * decrypted.
+ * <p>
+ * Ciphertext does not compress, so this is the only place compression can
+ * cut the bytes written to disk or the network. Before compressing, the
+ * first 64 KB are test compressed; if they do not shrink by at least 10%
+ * the data is stored as is, so already compressed or random data costs no
+ * extra CPU time. The choice is recorded in a flag byte at the start of the
+ * plaintext, inside the encryption.</p>
+ * <p>
+ * Compression length can reveal something about the content when an
+ * attacker can mix their own input with a secret in the same message. Leave
+ * compression off for such data.</p>
+ * <p>
+ * A service holds an AESService, so it is not thread safe.</p>
+ */
+public class CompressedAESService
+{
+
+	/**
+	 * Bytes test compressed to decide whether to compress at all.
+	 */
+	public static final int SAMPLE_SIZE = 64 * 1024;
+
+	private static final int STORED = 0;
+	private static final int DEFLATED = 1;
+	/**
+	 * Compress only if the sample shrinks to this percentage or less.
+	 */
+	private static final int MAX_RATIO_PERCENT = 90;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final AESService aes;
+	private final int level;
+	private long plaintextBytes = 0;
+	private long ciphertextBytes = 0;
+
+	/**
+	 * Create a service that uses an existing AESService and the default
+	 * compression level.
+	 *
+	 * @param aes The AESService that encrypts the compressed data.
+	 */
+	public CompressedAESService(AESService aes)
+	{
+		this(aes, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * Create a service that uses an existing AESService.
+	 *
+	 * @param aes The AESService that encrypts the compressed data.
+	 * @param level The Deflater level, from Deflater.BEST_SPEED to
+	 * Deflater.BEST_COMPRESSION, or Deflater.DEFAULT_COMPRESSION.
+	 */
+	public CompressedAESService(AESService aes, int level)
+	{
+		if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION))
+		{
+			throw new IllegalArgumentException("Invalid compression level " + level + ".");
+		}
+		this.aes = aes;
+		this.level = level;
+	}
+
+	/**
+	 * Compress and encrypt a byte array.
+	 *
+	 * @param data The data to encrypt.
+	 * @return The encrypted data.
+	 * @throws Exception
+	 */
+	public byte[] encode(byte[] data) throws Exception
+	{
+		final ByteArrayOutputStream staged = new ByteArrayOutputStream(data.length / 2 + 64);
+		final Deflater deflater = new Deflater(level);
+		try
+		{
+			copy(stage(new ByteArrayInputStream(data), deflater), staged);
+		}
+		finally
+		{
+			deflater.end();
+		}
+		final byte[] encoded = aes.encode(staged.toByteArray());
+		plaintextBytes += data.length;
+		ciphertextBytes += encoded.length;
+		return encoded;
+	}
+
+	/**
+	 * Decrypt and decompress a byte array written by encode.
+	 *
+	 * @param data The encrypted data.
+	 * @return The original data.
+	 * @throws Exception
+	 */
+	public byte[] decode(byte[] data) throws Exception
+	{
+		final ByteArrayOutputStream plaintext = new ByteArrayOutputStream(Math.max(32, Math.min(data.length, Integer.MAX_VALUE / 2) * 2));
+		try (UnstageOutputStream outstream = new UnstageOutputStream(plaintext))
+		{
+			outstream.write(aes.decode(data));
+			outstream.finish();
+		}
+		return plaintext.toByteArray();
+	}
+
+	/**
+	 * Compress and encrypt a stream.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the encrypted data is written to.
+	 * @throws Exception
+	 */
+	public void encode(InputStream instream, OutputStream outstream) throws Exception
+	{
+		final CountingInputStream counted = new CountingInputStream(instream);
+		final CountingOutputStream out = new CountingOutputStream(outstream);
+		final Deflater deflater = new Deflater(level);
+		try
+		{
+			aes.encode(stage(counted, deflater), out);
+		}
+		finally
+		{
+			deflater.end();
+		}
+		plaintextBytes += counted.getCount();
+		ciphertextBytes += out.count;
+	}
+
+	/**
+	 * Decrypt and decompress a stream written by encode.
+	 *
+	 * @param instream The encrypted stream.
+	 * @param outstream The stream the original data is written to.
+	 * @throws Exception
+	 */
+	public void decode(InputStream instream, OutputStream outstream) throws Exception
+	{
+		try (UnstageOutputStream out = new UnstageOutputStream(outstream))
+		{
+			aes.decode(instream, out);
+			out.finish();
+		}
+	}
+
+	/**
+	 * @return The number of bytes passed to encode so far.
+	 */
+	public long getPlaintextBytes()
+	{
+		return plaintextBytes;
+	}
+
+	/**
+	 * @return The number of encrypted bytes encode has produced so far.
+	 */
+	public long getCiphertextBytes()
+	{
+		return ciphertextBytes;
+	}
+
+	/**
+	 * The flag byte followed by the data, compressed if a sample of it
+	 * compresses well.
+	 */
+	private InputStream stage(InputStream instream, Deflater deflater) throws IOException
+	{
+		final byte[] sample = new byte[SAMPLE_SIZE];
+		final int n = Streams.readFully(instream, sample);
+		final InputStream data = new SequenceInputStream(new ByteArrayInputStream(sample, 0, n), instream);
+		if (!compresses(sample, n))
+		{
+			return new SequenceInputStream(new ByteArrayInputStream(new byte[]
+			{
+				STORED
+			}), data);
+		}
+		return new SequenceInputStream(new ByteArrayInputStream(new byte[]
+		{
+			DEFLATED
+		}), new DeflaterInputStream(data, deflater, BUFFER_SIZE));
+	}
+
+	/**
+	 * Test compress a sample, giving up as soon as it is clear it will not
+	 * shrink enough.
+	 */
+	private boolean compresses(byte[] sample, int length)
+	{
+		if (length == 0)
+		{
+			return false;
+		}
+		final long limit = (long) length * MAX_RATIO_PERCENT / 100;
+		final Deflater deflater = new Deflater(level);
+		try
+		{
+			deflater.setInput(sample, 0, length);
+			deflater.finish();
+			final byte[] scratch = new byte[BUFFER_SIZE];
+			long total = 0;
+			while (!deflater.finished() && total <= limit)
+			{
+				total += deflater.deflate(scratch);
+			}
+			return total <= limit;
+		}
+		finally
+		{
+			deflater.end();
+		}
+	}
+
+	private static void copy(InputStream instream, OutputStream outstream) throws IOException
+	{
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		int n;
+		while ((n = instream.read(buffer)) != -1)
+		{
+			outstream.write(buffer, 0, n);
+		}
+	}
+
+	/**
+	 * Reads the flag byte from the decrypted data, then passes the rest
+	 * through an Inflater or straight on.
+	 */
+	private static class UnstageOutputStream extends OutputStream
+	{
+
+		private final OutputStream out;
+		private OutputStream target = null;
+		private Inflater inflater = null;
+
+		UnstageOutputStream(OutputStream out)
+		{
+			this.out = out;
+		}
+
+		@Override
+		public void write(int b) throws IOException
+		{
+			write(new byte[]
+			{
+				(byte) b
+			}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException
+		{
+			if (len > 0 && target == null)
+			{
+				if (b[off] == DEFLATED)
+				{
+					inflater = new Inflater();
+					target = new InflaterOutputStream(out, inflater, BUFFER_SIZE);
+				}
+				else if (b[off] == STORED)
+				{
+					target = out;
+				}
+				else
+				{
+					throw new IOException("Unknown compression flag " + b[off] + ".");
+				}
+				off++;
+				len--;
+			}
+			if (len > 0)
+			{
+				target.write(b, off, len);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException
+		{
+			if (target != null)
+			{
+				target.flush();
+			}
+		}
+
+		/**
+		 * Check that all of the data arrived and write out what the Inflater
+		 * still holds.
+		 */
+		void finish() throws IOException
+		{
+			if (target == null)
+			{
+				throw new IOException("Decrypted data is empty.");
+			}
+			if (inflater != null)
+			{
+				((InflaterOutputStream) target).finish();
+				if (!inflater.finished())
+				{
+					throw new IOException("Compressed data is truncated.");
+				}
+			}
+			out.flush();
+		}
+
+		/**
+		 * Release the Inflater. The underlying stream belongs to the caller
+		 * and is left open.
+		 */
+		@Override
+		public void close()
+		{
+			if (inflater != null)
+			{
+				inflater.end();
+			}
+		}
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream
+	{
+
+		private long count = 0;
+
+		CountingOutputStream(OutputStream out)
+		{
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException
+		{
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException
+		{
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+}
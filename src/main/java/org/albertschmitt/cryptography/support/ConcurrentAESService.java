@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * An AES service that can be shared by any number of threads.
+ * <p>
+ * AESService keeps cipher state, so one instance must not be used by two
+ * threads at once. This service holds the key, which never changes after it
+ * is created, and gives each thread its own AESService with a copy of the
+ * key the first time the thread uses it. Create one per key and share it
+ * instead of creating an AESService per request.</p>
+ * <p>
+ * Every operation, including key generation through the generateKey
+ * factories, is recorded in CryptoMetrics while it is enabled.</p>
+ */
+public class ConcurrentAESService
+{
+
+	private static final String GENERATE_KEY = "AES.generateKey";
+
+	private final byte[] aesKey;
+	/**
+	 * CryptoMetrics operation names, which include the key size.
+	 */
+	private final String encodeName;
+	private final String decodeName;
+	private final ThreadLocal<AESService> engines = new ThreadLocal<AESService>()
+	{
+		@Override
+		protected AESService initialValue()
+		{
+			AESService aes = new AESService();
+			aes.setAesKey(aesKey.clone());
+			return aes;
+		}
+	};
+
+	/**
+	 * Create a service that uses the key of an existing AESService.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 */
+	public ConcurrentAESService(AESService aes)
+	{
+		this(aes.getAesKey());
+	}
+
+	/**
+	 * Create a service from raw AES key bytes.
+	 *
+	 * @param aesKey The AES key bytes.
+	 */
+	public ConcurrentAESService(byte[] aesKey)
+	{
+		this.aesKey = aesKey.clone();
+		this.encodeName = "AES-" + aesKey.length * 8 + ".encode";
+		this.decodeName = "AES-" + aesKey.length * 8 + ".decode";
+	}
+
+	/**
+	 * Create a service with a new random key.
+	 *
+	 * @return The service.
+	 * @throws Exception
+	 */
+	public static ConcurrentAESService generateKey() throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			AESService aes = new AESService();
+			aes.generateKey();
+			CryptoMetrics.record(GENERATE_KEY, start, 0);
+			return new ConcurrentAESService(aes);
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(GENERATE_KEY, start);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Create a service with a key derived from a password and salt. The
+	 * derivation is deliberately slow, so it is worth watching in
+	 * CryptoMetrics.
+	 *
+	 * @param password The password.
+	 * @param salt The salt.
+	 * @return The service.
+	 * @throws Exception
+	 */
+	public static ConcurrentAESService generateKey(String password, byte[] salt) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			AESService aes = new AESService();
+			aes.generateKey(password, salt);
+			CryptoMetrics.record(GENERATE_KEY, start, 0);
+			return new ConcurrentAESService(aes);
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(GENERATE_KEY, start);
+			throw ex;
+		}
+	}
+
+	/**
+	 * @return A copy of the key bytes.
+	 */
+	public byte[] getAesKey()
+	{
+		return aesKey.clone();
+	}
+
+	public byte[] encode(byte[] data) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			byte[] encoded = engines.get().encode(data);
+			CryptoMetrics.record(encodeName, start, data.length);
+			return encoded;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(encodeName, start);
+			throw ex;
+		}
+	}
+
+	public byte[] encode(String data) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			byte[] encoded = engines.get().encode(data);
+			CryptoMetrics.record(encodeName, start, utf8Length(data));
+			return encoded;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(encodeName, start);
+			throw ex;
+		}
+	}
+
+	public byte[] decode(byte[] data) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			byte[] decoded = engines.get().decode(data);
+			CryptoMetrics.record(decodeName, start, data.length);
+			return decoded;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(decodeName, start);
+			throw ex;
+		}
+	}
+
+	public void encode(InputStream instream, OutputStream outstream) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		final CountingInputStream counted = new CountingInputStream(instream);
+		try
+		{
+			engines.get().encode(counted, outstream);
+			CryptoMetrics.record(encodeName, start, counted.getCount());
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(encodeName, start);
+			throw ex;
+		}
+	}
+
+	public void decode(InputStream instream, OutputStream outstream) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		final CountingInputStream counted = new CountingInputStream(instream);
+		try
+		{
+			engines.get().decode(counted, outstream);
+			CryptoMetrics.record(decodeName, start, counted.getCount());
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(decodeName, start);
+			throw ex;
+		}
+	}
+
+	/**
+	 * The number of bytes a String encodes to in UTF-8, which is what
+	 * AESService encrypts, counted without encoding it a second time.
+	 */
+	private static long utf8Length(String data)
+	{
+		long length = 0;
+		for (int i = 0; i < data.length(); i++)
+		{
+			char c = data.charAt(i);
+			if (c < 0x80)
+			{
+				length += 1;
+			}
+			else if (c < 0x800)
+			{
+				length += 2;
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < data.length() && Character.isLowSurrogate(data.charAt(i + 1)))
+			{
+				length += 4;
+				i++;
+			}
+			else if (Character.isSurrogate(c))
+			{
+				// An unpaired surrogate is encoded as '?'.
+				length += 1;
+			}
+			else
+			{
+				length += 3;
+			}
+		}
+		return length;
+	}
+}
@@ -0,0 +1,274 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.RSAService.KEYSIZE;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+
+/**
+ * An RSA service that can be shared by any number of threads.
+ * <p>
+ * Each thread gets its own RSAService the first time it uses this service,
+ * so cipher state is never shared. Keys read through the service are
+ * immutable once parsed and can be passed to any thread.</p>
+ * <p>
+ * Every operation is recorded in CryptoMetrics while it is enabled.</p>
+ */
+public class ConcurrentRSAService
+{
+
+	private final KEYSIZE keysize;
+	/**
+	 * CryptoMetrics operation names, which include the key size.
+	 */
+	private final String generateKeyName;
+	private final String readKeyName;
+	private final String encodeName;
+	private final String decodeName;
+	private final ThreadLocal<RSAService> engines = new ThreadLocal<RSAService>()
+	{
+		@Override
+		protected RSAService initialValue()
+		{
+			return new RSAService4K(keysize);
+		}
+	};
+
+	/**
+	 * Create a service for 2048-bit keys.
+	 */
+	public ConcurrentRSAService()
+	{
+		this(KEYSIZE.RSA_2K);
+	}
+
+	/**
+	 * Create a service for the given key size.
+	 *
+	 * @param keysize The size of keys generated by the service.
+	 */
+	public ConcurrentRSAService(KEYSIZE keysize)
+	{
+		this.keysize = keysize;
+		this.generateKeyName = keysize.name() + ".generateKey";
+		this.readKeyName = keysize.name() + ".readKey";
+		this.encodeName = keysize.name() + ".encode";
+		this.decodeName = keysize.name() + ".decode";
+	}
+
+	public void generateKey(String privateKeyfile, String publicKeyfile) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			engines.get().generateKey(privateKeyfile, publicKeyfile);
+			CryptoMetrics.record(generateKeyName, start, 0);
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(generateKeyName, start);
+			throw ex;
+		}
+	}
+
+	public RSAPrivateKey readPrivateKey(String filename) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			RSAPrivateKey result = engines.get().readPrivateKey(filename);
+			CryptoMetrics.record(readKeyName, start, 0);
+			return result;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(readKeyName, start);
+			throw ex;
+		}
+	}
+
+	public RSAPrivateKey readPrivateKey(String filename, char[] password) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			RSAPrivateKey result = engines.get().readPrivateKey(filename, password);
+			CryptoMetrics.record(readKeyName, start, 0);
+			return result;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(readKeyName, start);
+			throw ex;
+		}
+	}
+
+	public RSAPublicKey readPublicKey(String filename) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			RSAPublicKey result = engines.get().readPublicKey(filename);
+			CryptoMetrics.record(readKeyName, start, 0);
+			return result;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(readKeyName, start);
+			throw ex;
+		}
+	}
+
+	public byte[] encode(byte[] data, RSAPublicKey key) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			byte[] result = engines.get().encode(data, key);
+			CryptoMetrics.record(encodeName, start, data.length);
+			return result;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(encodeName, start);
+			throw ex;
+		}
+	}
+
+	public byte[] encode(byte[] data, RSAPrivateKey key) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			byte[] result = engines.get().encode(data, key);
+			CryptoMetrics.record(encodeName, start, data.length);
+			return result;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(encodeName, start);
+			throw ex;
+		}
+	}
+
+	public byte[] decode(byte[] data, RSAPrivateKey key) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			byte[] result = engines.get().decode(data, key);
+			CryptoMetrics.record(decodeName, start, data.length);
+			return result;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(decodeName, start);
+			throw ex;
+		}
+	}
+
+	public byte[] decode(byte[] data, RSAPublicKey key) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			byte[] result = engines.get().decode(data, key);
+			CryptoMetrics.record(decodeName, start, data.length);
+			return result;
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(decodeName, start);
+			throw ex;
+		}
+	}
+
+	public void encode(InputStream instream, OutputStream outstream, RSAPublicKey key) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		final CountingInputStream counted = new CountingInputStream(instream);
+		try
+		{
+			engines.get().encode(counted, outstream, key);
+			CryptoMetrics.record(encodeName, start, counted.getCount());
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(encodeName, start);
+			throw ex;
+		}
+	}
+
+	public void encode(InputStream instream, OutputStream outstream, RSAPrivateKey key) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		final CountingInputStream counted = new CountingInputStream(instream);
+		try
+		{
+			engines.get().encode(counted, outstream, key);
+			CryptoMetrics.record(encodeName, start, counted.getCount());
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(encodeName, start);
+			throw ex;
+		}
+	}
+
+	public void decode(InputStream instream, OutputStream outstream, RSAPrivateKey key) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		final CountingInputStream counted = new CountingInputStream(instream);
+		try
+		{
+			engines.get().decode(counted, outstream, key);
+			CryptoMetrics.record(decodeName, start, counted.getCount());
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(decodeName, start);
+			throw ex;
+		}
+	}
+
+	public void decode(InputStream instream, OutputStream outstream, RSAPublicKey key) throws Exception
+	{
+		final long start = CryptoMetrics.start();
+		final CountingInputStream counted = new CountingInputStream(instream);
+		try
+		{
+			engines.get().decode(counted, outstream, key);
+			CryptoMetrics.record(decodeName, start, counted.getCount());
+		}
+		catch (Exception ex)
+		{
+			CryptoMetrics.error(decodeName, start);
+			throw ex;
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Split a stream into chunks whose boundaries depend on the content, not on
+ * the offset.
+ * <p>
+ * A gear hash rolls over the last 64 bytes and a chunk ends where its top
+ * bits are all zero. An insert or delete therefore moves only the
+ * boundaries next to it, and the chunks after the edit come out the same as
+ * before, which is what lets ChunkedAESStore skip them. Chunks are between
+ * 2 KB and 64 KB and about 10 KB on average.</p>
+ */
+public class ContentChunker
+{
+
+	/**
+	 * Smallest chunk, except for the last one.
+	 */
+	public static final int MIN_SIZE = 2 * 1024;
+	/**
+	 * Largest chunk.
+	 */
+	public static final int MAX_SIZE = 64 * 1024;
+
+	/**
+	 * A boundary after MIN_SIZE has odds of one in 2^13, about 8 KB.
+	 */
+	private static final int BOUNDARY_BITS = 13;
+	/**
+	 * The shift-left gear hash remembers this many bytes.
+	 */
+	private static final int WINDOW = 64;
+	/**
+	 * The gear table has to be the same on every run and every machine, or
+	 * the same content would split differently, so it comes from a fixed
+	 * seed.
+	 */
+	private static final long[] GEAR = new long[256];
+
+	static
+	{
+		final Random random = new Random(0x6765617243444320L);
+		for (int i = 0; i < GEAR.length; i++)
+		{
+			GEAR[i] = random.nextLong();
+		}
+	}
+
+	private final InputStream instream;
+	private final byte[] buffer = new byte[MAX_SIZE];
+	private int available = 0;
+	private boolean eof = false;
+
+	/**
+	 * @param instream The stream to split.
+	 */
+	public ContentChunker(InputStream instream)
+	{
+		this.instream = instream;
+	}
+
+	/**
+	 * Read the next chunk.
+	 *
+	 * @return The chunk, or null at the end of the stream.
+	 * @throws IOException
+	 */
+	public byte[] next() throws IOException
+	{
+		fill();
+		if (available == 0)
+		{
+			return null;
+		}
+
+		int cut = available;
+		if (available > MIN_SIZE)
+		{
+			long hash = 0;
+			for (int i = MIN_SIZE - WINDOW; i < available; i++)
+			{
+				hash = (hash << 1) + GEAR[buffer[i] & 0xff];
+				if (i >= MIN_SIZE && (hash >>> (64 - BOUNDARY_BITS)) == 0)
+				{
+					cut = i + 1;
+					break;
+				}
+			}
+		}
+
+		final byte[] chunk = Arrays.copyOf(buffer, cut);
+		System.arraycopy(buffer, cut, buffer, 0, available - cut);
+		available -= cut;
+		return chunk;
+	}
+
+	private void fill() throws IOException
+	{
+		int n;
+		while (!eof && available < buffer.length)
+		{
+			n = instream.read(buffer, available, buffer.length - available);
+			if (n == -1)
+			{
+				eof = true;
+			}
+			else
+			{
+				available += n;
+			}
+		}
+	}
+}
@@ -0,0 +1,399 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.beans.ConstructorProperties;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters and latency histograms for the crypto operations of the support
+ * services, published over JMX.
+ * <p>
+ * Recording is off until enable is called, or the JVM is started with
+ * -Dorg.albertschmitt.cryptography.metrics=true. While it is off an
+ * instrumented call costs one volatile read. While it is on each operation
+ * name, such as "AES-256.encode" or "RSA_4K.generateKey", gets a count,
+ * an error count, the bytes processed and a histogram of latencies in power
+ * of two microsecond buckets. The histogram gives the median and 99th
+ * percentile to within a factor of two, which is enough to see where the
+ * time goes without a profiler.</p>
+ * <p>
+ * The instrumented services are ConcurrentAESService, ConcurrentRSAService,
+ * RawDigestSHA and HMACEngine.</p>
+ */
+public final class CryptoMetrics implements CryptoMetricsMXBean
+{
+
+	/**
+	 * The name the MXBean is registered under.
+	 */
+	public static final String OBJECT_NAME = "org.albertschmitt.cryptography:type=CryptoMetrics";
+	/**
+	 * Set this system property to true to record from startup.
+	 */
+	public static final String PROPERTY = "org.albertschmitt.cryptography.metrics";
+
+	/**
+	 * What start returns while recording is off.
+	 */
+	static final long DISABLED = Long.MIN_VALUE;
+	private static final CryptoMetrics INSTANCE = new CryptoMetrics();
+	private static volatile boolean enabled = false;
+
+	static
+	{
+		if (Boolean.getBoolean(PROPERTY))
+		{
+			enable();
+		}
+	}
+
+	private final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+	private boolean registered = false;
+
+	private CryptoMetrics()
+	{
+	}
+
+	/**
+	 * @return The one set of metrics for this JVM.
+	 */
+	public static CryptoMetrics getInstance()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Start recording and register the MXBean with the platform MBean server
+	 * if it is not registered yet.
+	 */
+	public static void enable()
+	{
+		INSTANCE.register();
+		enabled = true;
+	}
+
+	/**
+	 * Stop recording. What was recorded is kept.
+	 */
+	public static void disable()
+	{
+		enabled = false;
+	}
+
+	@Override
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled)
+	{
+		if (enabled)
+		{
+			enable();
+		}
+		else
+		{
+			disable();
+		}
+	}
+
+	@Override
+	public Map<String, OperationStats> getOperations()
+	{
+		final Map<String, OperationStats> stats = new TreeMap<>();
+		for (Map.Entry<String, Operation> entry : operations.entrySet())
+		{
+			stats.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+		}
+		return stats;
+	}
+
+	@Override
+	public void reset()
+	{
+		operations.clear();
+	}
+
+	/**
+	 * Mark the start of an operation.
+	 *
+	 * @return The time to pass to record or error.
+	 */
+	static long start()
+	{
+		return enabled ? System.nanoTime() : DISABLED;
+	}
+
+	/**
+	 * Record an operation that succeeded.
+	 *
+	 * @param name The operation name.
+	 * @param start What start returned.
+	 * @param bytes The number of bytes the operation processed.
+	 */
+	static void record(String name, long start, long bytes)
+	{
+		if (start != DISABLED)
+		{
+			INSTANCE.operation(name).record(System.nanoTime() - start, bytes);
+		}
+	}
+
+	/**
+	 * Record an operation that threw.
+	 *
+	 * @param name The operation name.
+	 * @param start What start returned.
+	 */
+	static void error(String name, long start)
+	{
+		if (start != DISABLED)
+		{
+			INSTANCE.operation(name).errors.incrementAndGet();
+		}
+	}
+
+	private Operation operation(String name)
+	{
+		Operation operation = operations.get(name);
+		if (operation == null)
+		{
+			Operation created = new Operation();
+			operation = operations.putIfAbsent(name, created);
+			if (operation == null)
+			{
+				operation = created;
+			}
+		}
+		return operation;
+	}
+
+	private synchronized void register()
+	{
+		if (registered)
+		{
+			return;
+		}
+		try
+		{
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+		}
+		catch (InstanceAlreadyExistsException ex)
+		{
+			// Another class loader got there first; that copy is the one JMX shows.
+		}
+		catch (JMException ex)
+		{
+			throw new IllegalStateException("Could not register " + OBJECT_NAME + ".", ex);
+		}
+		registered = true;
+	}
+
+	/**
+	 * The live counters of one operation.
+	 */
+	private static class Operation
+	{
+
+		/**
+		 * Bucket i counts operations that took less than 2^i microseconds.
+		 */
+		private static final int BUCKETS = 40;
+
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong bytes = new AtomicLong();
+		private final AtomicLong nanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		void record(long elapsed, long size)
+		{
+			count.incrementAndGet();
+			bytes.addAndGet(size);
+			nanos.addAndGet(elapsed);
+			long max;
+			while (elapsed > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, elapsed))
+			{
+			}
+			final int bucket = 64 - Long.numberOfLeadingZeros(Math.max(0, elapsed) / 1000);
+			histogram.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+		}
+
+		OperationStats snapshot(String name)
+		{
+			final long[] counts = new long[BUCKETS];
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++)
+			{
+				counts[i] = histogram.get(i);
+				total += counts[i];
+			}
+			final long n = count.get();
+			final long elapsed = nanos.get();
+			return new OperationStats(name, n, errors.get(), bytes.get(),
+					n == 0 ? 0 : elapsed / 1000.0 / n,
+					maxNanos.get() / 1000,
+					percentile(counts, total, 0.50),
+					percentile(counts, total, 0.99),
+					elapsed == 0 ? 0 : bytes.get() * 1000000000.0 / elapsed);
+		}
+
+		/**
+		 * The upper bound of the bucket the percentile falls in.
+		 */
+		private static long percentile(long[] counts, long total, double fraction)
+		{
+			final long rank = (long) Math.ceil(total * fraction);
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++)
+			{
+				seen += counts[i];
+				if (seen >= rank && seen > 0)
+				{
+					return 1L << i;
+				}
+			}
+			return 0;
+		}
+	}
+
+	/**
+	 * A snapshot of the statistics of one operation. Times are in
+	 * microseconds.
+	 */
+	public static class OperationStats
+	{
+
+		private final String name;
+		private final long count;
+		private final long errors;
+		private final long bytes;
+		private final double meanMicros;
+		private final long maxMicros;
+		private final long p50Micros;
+		private final long p99Micros;
+		private final double bytesPerSecond;
+
+		@ConstructorProperties(
+		{
+			"name", "count", "errors", "bytes", "meanMicros", "maxMicros", "p50Micros", "p99Micros", "bytesPerSecond"
+		})
+		public OperationStats(String name, long count, long errors, long bytes, double meanMicros, long maxMicros,
+				long p50Micros, long p99Micros, double bytesPerSecond)
+		{
+			this.name = name;
+			this.count = count;
+			this.errors = errors;
+			this.bytes = bytes;
+			this.meanMicros = meanMicros;
+			this.maxMicros = maxMicros;
+			this.p50Micros = p50Micros;
+			this.p99Micros = p99Micros;
+			this.bytesPerSecond = bytesPerSecond;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		/**
+		 * @return The number of operations that succeeded.
+		 */
+		public long getCount()
+		{
+			return count;
+		}
+
+		/**
+		 * @return The number of operations that threw.
+		 */
+		public long getErrors()
+		{
+			return errors;
+		}
+
+		/**
+		 * @return The bytes processed by the operations that succeeded.
+		 */
+		public long getBytes()
+		{
+			return bytes;
+		}
+
+		public double getMeanMicros()
+		{
+			return meanMicros;
+		}
+
+		public long getMaxMicros()
+		{
+			return maxMicros;
+		}
+
+		/**
+		 * @return The median, rounded up to a power of two.
+		 */
+		public long getP50Micros()
+		{
+			return p50Micros;
+		}
+
+		/**
+		 * @return The 99th percentile, rounded up to a power of two.
+		 */
+		public long getP99Micros()
+		{
+			return p99Micros;
+		}
+
+		/**
+		 * @return Bytes processed per second of time spent in the operation.
+		 */
+		public double getBytesPerSecond()
+		{
+			return bytesPerSecond;
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%s: count=%d errors=%d bytes=%d mean=%.1fus p50<=%dus p99<=%dus max=%dus %.1f MB/s",
+					name, count, errors, bytes, meanMicros, p50Micros, p99Micros, maxMicros, bytesPerSecond / (1024 * 1024));
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.util.Map;
+
+/**
+ * The JMX view of CryptoMetrics, registered as
+ * org.albertschmitt.cryptography:type=CryptoMetrics.
+ */
+public interface CryptoMetricsMXBean
+{
+
+	/**
+	 * @return True if operations are being recorded.
+	 */
+	boolean isEnabled();
+
+	/**
+	 * @param enabled True to record operations, false to stop.
+	 */
+	void setEnabled(boolean enabled);
+
+	/**
+	 * @return The statistics of every operation recorded so far, by name.
+	 */
+	Map<String, CryptoMetrics.OperationStats> getOperations();
+
+	/**
+	 * Forget everything recorded so far.
+	 */
+	void reset();
+}
@@ -0,0 +1,441 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.common.Compare;
+
+/**
+ * Encrypt and decrypt whole directory trees on every core of the machine.
+ * <p>
+ * Each file becomes its own job on a work-stealing pool, so many small files
+ * keep every core busy. Files at or above the large file size are encrypted
+ * with a ParallelAESService on the same pool, so a single huge file is split
+ * across the workers too. Every encrypted file is the source path plus
+ * ".enc" under the target directory.</p>
+ * <p>
+ * The target directory also gets a manifest with one tab separated line per
+ * file:</p>
+ * <pre>
+ * sha256 of the plaintext, size, key id, format, path
+ * </pre>
+ * <p>
+ * The path is last so it may contain tabs. decrypt reads the manifest to
+ * find the files and their format, and checks every decrypted file against
+ * its digest.</p>
+ * <p>
+ * An encryptor created with its own pool shuts the pool down when it is
+ * closed; a pool passed in by the caller is left running.</p>
+ */
+public class DirectoryEncryptor implements Closeable
+{
+
+	/**
+	 * Files this size or larger are split across the workers, 64 MB.
+	 */
+	public static final long DEFAULT_LARGE_FILE_SIZE = 64L * 1024 * 1024;
+	/**
+	 * The manifest file written to the target directory.
+	 */
+	public static final String MANIFEST = "manifest.tsv";
+	/**
+	 * Format of files written by AESService.encode.
+	 */
+	public static final String FORMAT_AES = "aes";
+	/**
+	 * Format of files written by ParallelAESService.encode.
+	 */
+	public static final String FORMAT_PARALLEL = "parallel-aes";
+
+	private static final String SUFFIX = ".enc";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final ConcurrentAESService aes;
+	private final ParallelAESService parallel;
+	private final String keyId;
+	private final ForkJoinPool pool;
+	private final boolean ownsPool;
+	private final long largeFileSize;
+
+	/**
+	 * Create an encryptor with one worker per processor and the default large
+	 * file size.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 * @param keyId The name of the key, recorded in the manifest.
+	 */
+	public DirectoryEncryptor(AESService aes, String keyId)
+	{
+		this(aes, keyId, new ForkJoinPool(), true, DEFAULT_LARGE_FILE_SIZE);
+	}
+
+	/**
+	 * Create an encryptor.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 * @param keyId The name of the key, recorded in the manifest.
+	 * @param pool The pool the files and segments run on. It is not shut down
+	 * by close.
+	 * @param largeFileSize Files this size or larger are split across the
+	 * workers.
+	 */
+	public DirectoryEncryptor(AESService aes, String keyId, ForkJoinPool pool, long largeFileSize)
+	{
+		this(aes, keyId, pool, false, largeFileSize);
+	}
+
+	private DirectoryEncryptor(AESService aes, String keyId, ForkJoinPool pool, boolean ownsPool, long largeFileSize)
+	{
+		if (keyId.indexOf('\t') >= 0 || keyId.indexOf('\n') >= 0)
+		{
+			throw new IllegalArgumentException("Key id must not contain tabs or line breaks.");
+		}
+		this.aes = new ConcurrentAESService(aes);
+		this.parallel = new ParallelAESService(aes, ParallelAESService.DEFAULT_SEGMENT_SIZE, pool);
+		this.keyId = keyId;
+		this.pool = pool;
+		this.ownsPool = ownsPool;
+		this.largeFileSize = largeFileSize;
+	}
+
+	/**
+	 * Shut down the pool if the encryptor created it. Work in flight finishes
+	 * first.
+	 */
+	@Override
+	public void close()
+	{
+		if (ownsPool)
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Encrypt every regular file under a directory and write the manifest.
+	 *
+	 * @param source The directory to encrypt.
+	 * @param target The directory the encrypted files and manifest are
+	 * written to. It must not be inside the source.
+	 * @return The manifest entries, sorted by path.
+	 * @throws Exception
+	 */
+	public List<Entry> encrypt(final Path source, final Path target) throws Exception
+	{
+		if (target.toAbsolutePath().normalize().startsWith(source.toAbsolutePath().normalize()))
+		{
+			throw new IllegalArgumentException("Target directory must not be inside the source directory.");
+		}
+
+		final List<PoolTask<Entry>> jobs = new ArrayList<>();
+		Files.walkFileTree(source, new SimpleFileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+			{
+				if (attrs.isRegularFile())
+				{
+					String path = relativePath(source, file);
+					jobs.add(PoolTask.submit(pool, new EncryptFile(file, target.resolve(path + SUFFIX), path, attrs.size())));
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+
+		final List<Entry> entries = await(jobs);
+		Collections.sort(entries, BY_PATH);
+		writeManifest(target.resolve(MANIFEST), entries);
+		return entries;
+	}
+
+	/**
+	 * Decrypt a directory written by encrypt and check every file against
+	 * the manifest.
+	 *
+	 * @param source The directory holding the encrypted files and manifest.
+	 * @param target The directory the decrypted files are written to.
+	 * @return The manifest entries, sorted by path.
+	 * @throws IOException If the manifest names another key, or a decrypted
+	 * file does not match its digest.
+	 * @throws Exception
+	 */
+	public List<Entry> decrypt(Path source, Path target) throws Exception
+	{
+		final List<Entry> entries = readManifest(source.resolve(MANIFEST));
+		for (Entry entry : entries)
+		{
+			if (!entry.getKeyId().equals(keyId))
+			{
+				throw new IOException(entry.getPath() + " was encrypted with key " + entry.getKeyId() + ", not " + keyId + ".");
+			}
+		}
+
+		final List<PoolTask<Entry>> jobs = new ArrayList<>();
+		for (Entry entry : entries)
+		{
+			jobs.add(PoolTask.submit(pool, new DecryptFile(source.resolve(entry.getPath() + SUFFIX), target.resolve(entry.getPath()), entry)));
+		}
+		return await(jobs);
+	}
+
+	/**
+	 * One line of the manifest.
+	 */
+	public static class Entry
+	{
+
+		private final String path;
+		private final long size;
+		private final String sha256;
+		private final String keyId;
+		private final String format;
+
+		Entry(String path, long size, String sha256, String keyId, String format)
+		{
+			this.path = path;
+			this.size = size;
+			this.sha256 = sha256;
+			this.keyId = keyId;
+			this.format = format;
+		}
+
+		/**
+		 * @return The path relative to the tree, with / separators.
+		 */
+		public String getPath()
+		{
+			return path;
+		}
+
+		/**
+		 * @return The size of the plaintext.
+		 */
+		public long getSize()
+		{
+			return size;
+		}
+
+		/**
+		 * @return The hex SHA-256 of the plaintext.
+		 */
+		public String getSha256()
+		{
+			return sha256;
+		}
+
+		/**
+		 * @return The name of the key the file was encrypted with.
+		 */
+		public String getKeyId()
+		{
+			return keyId;
+		}
+
+		/**
+		 * @return FORMAT_AES or FORMAT_PARALLEL.
+		 */
+		public String getFormat()
+		{
+			return format;
+		}
+	}
+
+	private static final Comparator<Entry> BY_PATH = new Comparator<Entry>()
+	{
+		@Override
+		public int compare(Entry a, Entry b)
+		{
+			return a.getPath().compareTo(b.getPath());
+		}
+	};
+
+	private static String relativePath(Path root, Path file) throws IOException
+	{
+		String path = root.relativize(file).toString().replace(File.separatorChar, '/');
+		if (path.indexOf('\n') >= 0 || path.indexOf('\r') >= 0)
+		{
+			throw new IOException("File names with line breaks cannot be listed in the manifest: " + file);
+		}
+		return path;
+	}
+
+	private static void writeManifest(Path manifest, List<Entry> entries) throws IOException
+	{
+		final List<String> lines = new ArrayList<>(entries.size());
+		for (Entry entry : entries)
+		{
+			lines.add(entry.getSha256() + '\t' + entry.getSize() + '\t' + entry.getKeyId() + '\t' + entry.getFormat() + '\t' + entry.getPath());
+		}
+		Files.createDirectories(manifest.getParent());
+		Files.write(manifest, lines, StandardCharsets.UTF_8);
+	}
+
+	private static List<Entry> readManifest(Path manifest) throws IOException
+	{
+		final List<Entry> entries = new ArrayList<>();
+		for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8))
+		{
+			String[] fields = line.split("\t", 5);
+			if (fields.length != 5)
+			{
+				throw new IOException("Corrupt manifest line: " + line);
+			}
+			String path = fields[4];
+			if (path.startsWith("/") || ("/" + path + "/").contains("/../"))
+			{
+				throw new IOException("Manifest path leaves the directory: " + path);
+			}
+			entries.add(new Entry(path, Long.parseLong(fields[1]), fields[0], fields[2], fields[3]));
+		}
+		return entries;
+	}
+
+	/**
+	 * Wait for every job and pass on the first failure as the exception the
+	 * job itself threw.
+	 */
+	private static List<Entry> await(List<PoolTask<Entry>> jobs) throws Exception
+	{
+		final List<Entry> entries = new ArrayList<>(jobs.size());
+		for (PoolTask<Entry> job : jobs)
+		{
+			entries.add(job.await(jobs));
+		}
+		return entries;
+	}
+
+	private static OutputStream create(Path file) throws IOException
+	{
+		Files.createDirectories(file.getParent());
+		return new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+	}
+
+	/**
+	 * Encrypt one file on a worker thread.
+	 */
+	private class EncryptFile implements Callable<Entry>
+	{
+
+		private final Path file;
+		private final Path encrypted;
+		private final String path;
+		private final long size;
+
+		EncryptFile(Path file, Path encrypted, String path, long size)
+		{
+			this.file = file;
+			this.encrypted = encrypted;
+			this.path = path;
+			this.size = size;
+		}
+
+		@Override
+		public Entry call() throws Exception
+		{
+			final boolean large = size >= largeFileSize;
+			final DigestInputStream instream = RawDigestSHA.digestInput(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+			try (InputStream in = instream;
+				 OutputStream outstream = create(encrypted))
+			{
+				if (large)
+				{
+					parallel.encode(in, outstream);
+				}
+				else
+				{
+					aes.encode(in, outstream);
+				}
+			}
+			final String sha256 = RawDigestSHA.toHex(instream.getMessageDigest().digest());
+			return new Entry(path, size, sha256, keyId, large ? FORMAT_PARALLEL : FORMAT_AES);
+		}
+	}
+
+	/**
+	 * Decrypt one file on a worker thread and check its digest.
+	 */
+	private class DecryptFile implements Callable<Entry>
+	{
+
+		private final Path encrypted;
+		private final Path file;
+		private final Entry entry;
+
+		DecryptFile(Path encrypted, Path file, Entry entry)
+		{
+			this.encrypted = encrypted;
+			this.file = file;
+			this.entry = entry;
+		}
+
+		@Override
+		public Entry call() throws Exception
+		{
+			final DigestOutputStream outstream = RawDigestSHA.digestOutput(create(file));
+			try (InputStream instream = new BufferedInputStream(Files.newInputStream(encrypted), BUFFER_SIZE);
+				 OutputStream out = outstream)
+			{
+				if (FORMAT_PARALLEL.equals(entry.getFormat()))
+				{
+					parallel.decode(instream, out);
+				}
+				else if (FORMAT_AES.equals(entry.getFormat()))
+				{
+					aes.decode(instream, out);
+				}
+				else
+				{
+					throw new IOException("Unknown format " + entry.getFormat() + " for " + entry.getPath() + ".");
+				}
+			}
+			final String sha256 = RawDigestSHA.toHex(outstream.getMessageDigest().digest());
+			if (!Compare.safeEquals(sha256.getBytes(StandardCharsets.US_ASCII), entry.getSha256().getBytes(StandardCharsets.US_ASCII)))
+			{
+				throw new IOException(entry.getPath() + " does not match its digest.");
+			}
+			return entry;
+		}
+	}
+}
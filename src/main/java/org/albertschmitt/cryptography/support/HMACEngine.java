@@ -0,0 +1,284 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.albertschmitt.crypto.common.Compare;
+
+/**
+ * A reusable, streaming HMAC-SHA256.
+ * <p>
+ * HMAC.sha256 takes the whole message and key as Strings and keys a new MAC
+ * on every call. An engine is keyed once; the inner and outer padded key
+ * state is kept, and doFinal returns the engine to that state so the next
+ * message starts without re-keying. Messages can be fed incrementally from
+ * byte arrays, ByteBuffers or InputStreams.</p>
+ * <p>
+ * An engine is not thread safe. Use copy to give each thread its own engine
+ * without keying it again.</p>
+ * <p>
+ * Each message, from its first update to doFinal, is recorded in
+ * CryptoMetrics while it is enabled.</p>
+ */
+public class HMACEngine
+{
+
+	private static final String ALGORITHM = "HmacSHA256";
+	private static final int BUFFER_SIZE = 1024 * 8;
+	private static final String METRIC = "HMAC-SHA256.mac";
+
+	private final Mac mac;
+	/**
+	 * When the current message started and how long it is so far, for
+	 * CryptoMetrics.
+	 */
+	private long messageStart = CryptoMetrics.DISABLED;
+	private long messageBytes = 0;
+
+	/**
+	 * Create an engine keyed with a byte array.
+	 *
+	 * @param key The secret key.
+	 * @throws GeneralSecurityException
+	 */
+	public HMACEngine(byte[] key) throws GeneralSecurityException
+	{
+		this.mac = Mac.getInstance(ALGORITHM);
+		this.mac.init(new SecretKeySpec(key, ALGORITHM));
+	}
+
+	/**
+	 * Create an engine keyed with the remaining bytes of a ByteBuffer. The
+	 * buffer position is not changed.
+	 *
+	 * @param key The secret key.
+	 * @throws GeneralSecurityException
+	 */
+	public HMACEngine(ByteBuffer key) throws GeneralSecurityException
+	{
+		this(copy(key));
+	}
+
+	/**
+	 * Create an engine keyed with the UTF-8 bytes of a String, the same key
+	 * HMAC.sha256 uses.
+	 *
+	 * @param key The secret key.
+	 * @throws GeneralSecurityException
+	 */
+	public HMACEngine(String key) throws GeneralSecurityException
+	{
+		this(key.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private HMACEngine(Mac mac)
+	{
+		this.mac = mac;
+	}
+
+	/**
+	 * Create an engine with the same key and no message data, without keying
+	 * it again.
+	 *
+	 * @return The new engine.
+	 * @throws CloneNotSupportedException If the provider's MAC cannot be
+	 * copied.
+	 */
+	public HMACEngine copy() throws CloneNotSupportedException
+	{
+		Mac clone = (Mac) mac.clone();
+		clone.reset();
+		return new HMACEngine(clone);
+	}
+
+	public void update(byte b)
+	{
+		begin(1);
+		mac.update(b);
+	}
+
+	public void update(byte[] data)
+	{
+		begin(data.length);
+		mac.update(data);
+	}
+
+	public void update(byte[] data, int offset, int length)
+	{
+		begin(length);
+		mac.update(data, offset, length);
+	}
+
+	/**
+	 * Add the remaining bytes of a buffer to the message. The buffer position
+	 * is moved to its limit.
+	 *
+	 * @param data The message bytes.
+	 */
+	public void update(ByteBuffer data)
+	{
+		begin(data.remaining());
+		mac.update(data);
+	}
+
+	/**
+	 * Add everything up to the end of a stream to the message.
+	 *
+	 * @param instream The message stream.
+	 * @throws IOException
+	 */
+	public void update(InputStream instream) throws IOException
+	{
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int n;
+		while ((n = instream.read(buffer)) != -1)
+		{
+			begin(n);
+			mac.update(buffer, 0, n);
+		}
+	}
+
+	/**
+	 * Finish the message and get its HMAC. The engine is then ready for the
+	 * next message under the same key.
+	 *
+	 * @return The 32 byte HMAC.
+	 */
+	public byte[] doFinal()
+	{
+		byte[] result = mac.doFinal();
+		end();
+		return result;
+	}
+
+	/**
+	 * Finish the message and write its HMAC into an existing array, so
+	 * verifying a stream of messages allocates nothing per message.
+	 *
+	 * @param output The array to write to.
+	 * @param offset Where the HMAC starts in output.
+	 * @throws GeneralSecurityException If output is too short.
+	 */
+	public void doFinal(byte[] output, int offset) throws GeneralSecurityException
+	{
+		mac.doFinal(output, offset);
+		end();
+	}
+
+	/**
+	 * Finish the message and compare its HMAC with an expected value in
+	 * constant time.
+	 *
+	 * @param expected The HMAC that came with the message.
+	 * @return True if the message is authentic.
+	 */
+	public boolean verify(byte[] expected)
+	{
+		return Compare.safeEquals(doFinal(), expected);
+	}
+
+	/**
+	 * Discard any message data added so far.
+	 */
+	public void reset()
+	{
+		mac.reset();
+		messageStart = CryptoMetrics.DISABLED;
+		messageBytes = 0;
+	}
+
+	/**
+	 * @return The length of the HMAC in bytes.
+	 */
+	public int getMacLength()
+	{
+		return mac.getMacLength();
+	}
+
+	/**
+	 * HMAC-SHA256 of a byte array.
+	 *
+	 * @param key The secret key.
+	 * @param data The message.
+	 * @return The 32 byte HMAC.
+	 * @throws GeneralSecurityException
+	 */
+	public static byte[] sha256(byte[] key, byte[] data) throws GeneralSecurityException
+	{
+		HMACEngine engine = new HMACEngine(key);
+		engine.update(data);
+		return engine.doFinal();
+	}
+
+	/**
+	 * HMAC-SHA256 of a stream, read to its end.
+	 *
+	 * @param key The secret key.
+	 * @param instream The message stream.
+	 * @return The 32 byte HMAC.
+	 * @throws GeneralSecurityException
+	 * @throws IOException
+	 */
+	public static byte[] sha256(byte[] key, InputStream instream) throws GeneralSecurityException, IOException
+	{
+		HMACEngine engine = new HMACEngine(key);
+		engine.update(instream);
+		return engine.doFinal();
+	}
+
+	/**
+	 * Note the start of a message on its first update.
+	 */
+	private void begin(int length)
+	{
+		if (messageStart == CryptoMetrics.DISABLED)
+		{
+			messageStart = CryptoMetrics.start();
+		}
+		messageBytes += length;
+	}
+
+	/**
+	 * Record the finished message, from its first update to doFinal.
+	 */
+	private void end()
+	{
+		CryptoMetrics.record(METRIC, messageStart, messageBytes);
+		messageStart = CryptoMetrics.DISABLED;
+		messageBytes = 0;
+	}
+
+	private static byte[] copy(ByteBuffer key)
+	{
+		byte[] bytes = new byte[key.remaining()];
+		key.duplicate().get(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,265 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+
+/**
+ * RSA byte array encryption that switches to hybrid encryption for large
+ * payloads.
+ * <p>
+ * RSAService.encode(byte[], key) encrypts one RSA block after another, which
+ * is orders of magnitude slower than AES for anything larger than a block.
+ * This service has the same byte array methods. Payloads up to the threshold
+ * are encrypted by RSA as before; larger payloads are encrypted by
+ * AESService with a fresh key and only that key is encrypted by RSA, so they
+ * cost one RSA operation whatever their size. A tag byte in front of the
+ * output tells decode which path was taken:</p>
+ * <pre>
+ * byte DIRECT, RSA ciphertext
+ * byte HYBRID, int length, byte[length] wrapped AES key, AES ciphertext
+ * </pre>
+ * <p>
+ * Because of the tag the output is not interchangeable with RSAService; data
+ * encrypted by one must be decrypted by the same kind of service. The
+ * service is safe to share between threads.</p>
+ */
+public class HybridRSAService
+{
+
+	/**
+	 * The largest payload encrypted by RSA alone, by default. 190 bytes fit
+	 * in one OAEP block of a 2048-bit key, so larger payloads would need a
+	 * second RSA operation.
+	 */
+	public static final int DEFAULT_THRESHOLD = 190;
+
+	private static final byte DIRECT = 0;
+	private static final byte HYBRID = 1;
+
+	private final ConcurrentRSAService rsa;
+	private final int threshold;
+
+	/**
+	 * Create a service for 2048-bit keys with the default threshold.
+	 */
+	public HybridRSAService()
+	{
+		this(new ConcurrentRSAService());
+	}
+
+	/**
+	 * Create a service with the default threshold.
+	 *
+	 * @param rsa The service that performs the RSA operations.
+	 */
+	public HybridRSAService(ConcurrentRSAService rsa)
+	{
+		this(rsa, DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Create a service.
+	 *
+	 * @param rsa The service that performs the RSA operations.
+	 * @param threshold The largest payload, in bytes, encrypted by RSA alone.
+	 */
+	public HybridRSAService(ConcurrentRSAService rsa, int threshold)
+	{
+		if (threshold < 0)
+		{
+			throw new IllegalArgumentException("Threshold must not be negative.");
+		}
+		this.rsa = rsa;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * @return The largest payload, in bytes, encrypted by RSA alone.
+	 */
+	public int getThreshold()
+	{
+		return threshold;
+	}
+
+	/**
+	 * Encrypt a byte array with a public key.
+	 *
+	 * @param data The data to encrypt.
+	 * @param key The public key.
+	 * @return The tagged ciphertext.
+	 * @throws Exception
+	 */
+	public byte[] encode(byte[] data, RSAPublicKey key) throws Exception
+	{
+		if (data.length <= threshold)
+		{
+			return direct(rsa.encode(data, key));
+		}
+		final AESService aes = new AESService();
+		aes.generateKey();
+		final byte[] aes_key = aes.getAesKey();
+		try
+		{
+			return hybrid(rsa.encode(aes_key, key), aes.encode(data));
+		}
+		finally
+		{
+			Arrays.fill(aes_key, (byte) 0);
+		}
+	}
+
+	/**
+	 * Encrypt a byte array with a private key, so anyone with the public key
+	 * can decrypt it.
+	 *
+	 * @param data The data to encrypt.
+	 * @param key The private key.
+	 * @return The tagged ciphertext.
+	 * @throws Exception
+	 */
+	public byte[] encode(byte[] data, RSAPrivateKey key) throws Exception
+	{
+		if (data.length <= threshold)
+		{
+			return direct(rsa.encode(data, key));
+		}
+		final AESService aes = new AESService();
+		aes.generateKey();
+		final byte[] aes_key = aes.getAesKey();
+		try
+		{
+			return hybrid(rsa.encode(aes_key, key), aes.encode(data));
+		}
+		finally
+		{
+			Arrays.fill(aes_key, (byte) 0);
+		}
+	}
+
+	/**
+	 * Decrypt a byte array written by encode with the matching public key.
+	 *
+	 * @param data The tagged ciphertext.
+	 * @param key The private key.
+	 * @return The plaintext.
+	 * @throws Exception
+	 */
+	public byte[] decode(byte[] data, RSAPrivateKey key) throws Exception
+	{
+		final ByteBuffer buffer = ByteBuffer.wrap(data);
+		if (tag(buffer) == DIRECT)
+		{
+			return rsa.decode(rest(buffer), key);
+		}
+		final byte[] wrapped = wrapped(buffer);
+		return aesDecode(rsa.decode(wrapped, key), rest(buffer));
+	}
+
+	/**
+	 * Decrypt a byte array written by encode with the matching private key.
+	 *
+	 * @param data The tagged ciphertext.
+	 * @param key The public key.
+	 * @return The plaintext.
+	 * @throws Exception
+	 */
+	public byte[] decode(byte[] data, RSAPublicKey key) throws Exception
+	{
+		final ByteBuffer buffer = ByteBuffer.wrap(data);
+		if (tag(buffer) == DIRECT)
+		{
+			return rsa.decode(rest(buffer), key);
+		}
+		final byte[] wrapped = wrapped(buffer);
+		return aesDecode(rsa.decode(wrapped, key), rest(buffer));
+	}
+
+	private static byte[] direct(byte[] encoded)
+	{
+		final byte[] output = new byte[1 + encoded.length];
+		output[0] = DIRECT;
+		System.arraycopy(encoded, 0, output, 1, encoded.length);
+		return output;
+	}
+
+	private static byte[] hybrid(byte[] wrapped, byte[] encoded)
+	{
+		final ByteBuffer output = ByteBuffer.allocate(1 + 4 + wrapped.length + encoded.length);
+		output.put(HYBRID).putInt(wrapped.length).put(wrapped).put(encoded);
+		return output.array();
+	}
+
+	private static byte[] aesDecode(byte[] aes_key, byte[] encoded) throws Exception
+	{
+		try
+		{
+			final AESService aes = new AESService();
+			aes.setAesKey(aes_key);
+			return aes.decode(encoded);
+		}
+		finally
+		{
+			Arrays.fill(aes_key, (byte) 0);
+		}
+	}
+
+	private static byte tag(ByteBuffer buffer) throws IOException
+	{
+		if (!buffer.hasRemaining())
+		{
+			throw new IOException("Ciphertext is empty.");
+		}
+		final byte tag = buffer.get();
+		if (tag != DIRECT && tag != HYBRID)
+		{
+			throw new IOException("Data was not written by HybridRSAService.");
+		}
+		return tag;
+	}
+
+	private static byte[] wrapped(ByteBuffer buffer) throws IOException
+	{
+		final int length = buffer.remaining() < 4 ? -1 : buffer.getInt();
+		if (length <= 0 || length > HybridService.MAX_WRAPPED_KEY || length > buffer.remaining())
+		{
+			throw new IOException("Corrupt wrapped key length " + length + ".");
+		}
+		final byte[] wrapped = new byte[length];
+		buffer.get(wrapped);
+		return wrapped;
+	}
+
+	private static byte[] rest(ByteBuffer buffer)
+	{
+		final byte[] rest = new byte[buffer.remaining()];
+		buffer.get(rest);
+		return rest;
+	}
+}
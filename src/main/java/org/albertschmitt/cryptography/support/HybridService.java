@@ -0,0 +1,296 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import org.albertschmitt.crypto.AESService;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+
+/**
+ * Encrypt a stream to an RSA public key in a single pass.
+ * <p>
+ * A fresh AES key is generated for every stream and wrapped with the RSA
+ * public key. The wrapped key is written as a small header and the data
+ * follows as AESService ciphertext, so a payload of any size costs one RSA
+ * operation plus AES:</p>
+ * <pre>
+ * int magic, int length, byte[length] wrapped AES key, AES ciphertext
+ * </pre>
+ * <p>
+ * A stream can also be encrypted once for many recipients. The AES key is
+ * then wrapped once per recipient and the header starts with an index of
+ * recipient ids sorted so a recipient finds its slot by binary search and
+ * unwraps only that one:</p>
+ * <pre>
+ * int magic, int count, { UTF id, int length }[count],
+ * { byte[length] wrapped AES key }[count], AES ciphertext
+ * </pre>
+ */
+public class HybridService
+{
+
+	private static final int MAGIC = 0x48594252;
+	private static final int MULTI_MAGIC = 0x4859424D;
+	private static final int MAX_RECIPIENTS = 65536;
+	/**
+	 * Large enough for a key wrapped by a 16384-bit RSA key.
+	 */
+	static final int MAX_WRAPPED_KEY = 2048;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final RSAService rsa;
+
+	/**
+	 * Create a hybrid service that wraps keys with the default RSAService.
+	 */
+	public HybridService()
+	{
+		this(new RSAService());
+	}
+
+	/**
+	 * Create a hybrid service that wraps keys with the given RSAService, for
+	 * example an RSAService4K.
+	 *
+	 * @param rsa The RSAService used to wrap and unwrap the AES key.
+	 */
+	public HybridService(RSAService rsa)
+	{
+		this.rsa = rsa;
+	}
+
+	/**
+	 * Encrypt a stream so only the holder of the matching private key can
+	 * read it.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the envelope is written to.
+	 * @param publicKey The recipient's public key.
+	 * @throws Exception
+	 */
+	public void encode(InputStream instream, OutputStream outstream, RSAPublicKey publicKey) throws Exception
+	{
+		final AESService aes = new AESService();
+		aes.generateKey();
+		writeHeader(outstream, rsa.encode(aes.getAesKey(), publicKey));
+		aes.encode(instream, outstream);
+	}
+
+	/**
+	 * Decrypt a stream written by encode.
+	 *
+	 * @param instream The envelope to decrypt.
+	 * @param outstream The stream the plaintext is written to.
+	 * @param privateKey The recipient's private key.
+	 * @throws Exception
+	 */
+	public void decode(InputStream instream, OutputStream outstream, RSAPrivateKey privateKey) throws Exception
+	{
+		final byte[] wrapped = readHeader(instream);
+		final AESService aes = new AESService();
+		aes.setAesKey(rsa.decode(wrapped, privateKey));
+		aes.decode(instream, outstream);
+	}
+
+	/**
+	 * Move a stream written by encode to a new key pair. Only the wrapped AES
+	 * key is unwrapped and wrapped again; the ciphertext is copied as it is,
+	 * so the cost is one RSA decrypt and encrypt whatever the size of the
+	 * payload.
+	 *
+	 * @param instream The envelope to rewrap.
+	 * @param outstream The stream the new envelope is written to.
+	 * @param oldKey The private key the envelope was written for.
+	 * @param newKey The public key of the new key pair.
+	 * @throws Exception
+	 */
+	public void rewrap(InputStream instream, OutputStream outstream, RSAPrivateKey oldKey, RSAPublicKey newKey) throws Exception
+	{
+		final byte[] key = rsa.decode(readHeader(instream), oldKey);
+		try
+		{
+			writeHeader(outstream, rsa.encode(key, newKey));
+		}
+		finally
+		{
+			Arrays.fill(key, (byte) 0);
+		}
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		int n;
+		while ((n = instream.read(buffer)) != -1)
+		{
+			outstream.write(buffer, 0, n);
+		}
+		outstream.flush();
+	}
+
+	/**
+	 * Encrypt a stream once so each of several recipients can read it with
+	 * their own private key.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the envelope is written to.
+	 * @param recipients The public key of each recipient, by recipient id.
+	 * @throws Exception
+	 */
+	public void encode(InputStream instream, OutputStream outstream, Map<String, RSAPublicKey> recipients) throws Exception
+	{
+		if (recipients.isEmpty() || recipients.size() > MAX_RECIPIENTS)
+		{
+			throw new IllegalArgumentException("Between 1 and " + MAX_RECIPIENTS + " recipients are required.");
+		}
+		final AESService aes = new AESService();
+		aes.generateKey();
+		final byte[] key_bytes = aes.getAesKey();
+
+		// A TreeMap writes the index in the order decode searches it.
+		final TreeMap<String, byte[]> slots = new TreeMap<>();
+		for (Map.Entry<String, RSAPublicKey> recipient : recipients.entrySet())
+		{
+			slots.put(recipient.getKey(), rsa.encode(key_bytes, recipient.getValue()));
+		}
+
+		DataOutputStream out = new DataOutputStream(outstream);
+		out.writeInt(MULTI_MAGIC);
+		out.writeInt(slots.size());
+		for (Map.Entry<String, byte[]> slot : slots.entrySet())
+		{
+			out.writeUTF(slot.getKey());
+			out.writeInt(slot.getValue().length);
+		}
+		for (byte[] wrapped : slots.values())
+		{
+			out.write(wrapped);
+		}
+		out.flush();
+		aes.encode(instream, outstream);
+	}
+
+	/**
+	 * Decrypt a stream written for several recipients.
+	 *
+	 * @param instream The envelope to decrypt.
+	 * @param outstream The stream the plaintext is written to.
+	 * @param recipient The recipient id the stream was encrypted for.
+	 * @param privateKey The recipient's private key.
+	 * @throws Exception
+	 */
+	public void decode(InputStream instream, OutputStream outstream, String recipient, RSAPrivateKey privateKey) throws Exception
+	{
+		DataInputStream in = new DataInputStream(instream);
+		if (in.readInt() != MULTI_MAGIC)
+		{
+			throw new IOException("Stream was not written by HybridService for several recipients.");
+		}
+		final int count = in.readInt();
+		if (count <= 0 || count > MAX_RECIPIENTS)
+		{
+			throw new IOException("Corrupt recipient count " + count + ".");
+		}
+		final String[] ids = new String[count];
+		final int[] lengths = new int[count];
+		for (int i = 0; i < count; i++)
+		{
+			ids[i] = in.readUTF();
+			lengths[i] = in.readInt();
+			if (lengths[i] <= 0 || lengths[i] > MAX_WRAPPED_KEY)
+			{
+				throw new IOException("Corrupt wrapped key length " + lengths[i] + ".");
+			}
+			if (i > 0 && ids[i - 1].compareTo(ids[i]) >= 0)
+			{
+				throw new IOException("Recipient index is not sorted.");
+			}
+		}
+
+		final int slot = Arrays.binarySearch(ids, recipient);
+		if (slot < 0)
+		{
+			throw new IOException("Stream was not encrypted for " + recipient + ".");
+		}
+		byte[] wrapped = null;
+		for (int i = 0; i < count; i++)
+		{
+			if (i == slot)
+			{
+				wrapped = new byte[lengths[i]];
+				in.readFully(wrapped);
+			}
+			else
+			{
+				skipFully(in, lengths[i]);
+			}
+		}
+
+		final AESService aes = new AESService();
+		aes.setAesKey(rsa.decode(wrapped, privateKey));
+		aes.decode(instream, outstream);
+	}
+
+	/**
+	 * Read past a slot. Slots are small, and unlike skip this is sure to fail
+	 * on a stream that ends early.
+	 */
+	private static void skipFully(DataInputStream in, int length) throws IOException
+	{
+		in.readFully(new byte[length]);
+	}
+
+	static void writeHeader(OutputStream outstream, byte[] wrapped) throws IOException
+	{
+		// DataOutputStream does not buffer, so the ciphertext can follow on outstream.
+		DataOutputStream out = new DataOutputStream(outstream);
+		out.writeInt(MAGIC);
+		out.writeInt(wrapped.length);
+		out.write(wrapped);
+		out.flush();
+	}
+
+	static byte[] readHeader(InputStream instream) throws IOException
+	{
+		// DataInputStream does not read ahead, so the ciphertext is left on instream.
+		DataInputStream in = new DataInputStream(instream);
+		if (in.readInt() != MAGIC)
+		{
+			throw new IOException("Stream was not written by HybridService.");
+		}
+		int length = in.readInt();
+		if (length <= 0 || length > MAX_WRAPPED_KEY)
+		{
+			throw new IOException("Corrupt wrapped key length " + length + ".");
+		}
+		byte[] wrapped = new byte[length];
+		in.readFully(wrapped);
+		return wrapped;
+	}
+}
@@ -0,0 +1,398 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+
+/**
+ * Move AES keys wrapped by RSA to a new key pair without touching the data
+ * they protect.
+ * <p>
+ * Each file costs one RSA unwrap with the old key and one wrap with the new
+ * key, run in parallel on a work-stealing pool. The AES key, and therefore
+ * every payload encrypted with it, stays the same. Two kinds of file are
+ * handled:</p>
+ * <ul>
+ * <li>KEY_FILE: a file holding nothing but a wrapped key, as written by
+ * Example_040.</li>
+ * <li>HYBRID: a HybridService envelope. The new header is written followed by
+ * a copy of the ciphertext, which is file I/O but no decryption.</li>
+ * </ul>
+ * <p>
+ * Every file is replaced by an atomic move. Before the move a line with the
+ * path and the SHA-256 of the new wrapped key is appended to a journal. A
+ * run that is stopped can be started again with the same journal: files
+ * whose wrapped key matches their journal line are skipped, and any other
+ * file is still under the old key and is rotated.</p>
+ * <p>
+ * The rotation runs on a pool of its own, which close shuts down.</p>
+ */
+public class KeyRotation implements Closeable
+{
+
+	/**
+	 * The kinds of file that can be rotated.
+	 */
+	public enum Format
+	{
+		KEY_FILE, HYBRID
+	}
+
+	private static final String TEMP_PREFIX = ".rotate";
+
+	private final Wrapping wrapping;
+	private final Path journal;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Rotate keys wrapped with a public key, as HybridService does.
+	 *
+	 * @param rsa The service that unwraps and wraps the keys.
+	 * @param oldKey The private key the files were written for.
+	 * @param newKey The public key of the new key pair.
+	 * @param journal The journal file, created if it does not exist.
+	 */
+	public KeyRotation(final ConcurrentRSAService rsa, final RSAPrivateKey oldKey, final RSAPublicKey newKey, Path journal)
+	{
+		this(new Wrapping()
+		{
+			@Override
+			public byte[] unwrap(byte[] wrapped) throws Exception
+			{
+				return rsa.decode(wrapped, oldKey);
+			}
+
+			@Override
+			public byte[] wrap(byte[] key) throws Exception
+			{
+				return rsa.encode(key, newKey);
+			}
+		}, journal);
+	}
+
+	/**
+	 * Rotate keys wrapped with a private key, as Example_040 does.
+	 *
+	 * @param rsa The service that unwraps and wraps the keys.
+	 * @param oldKey The public key the files are read with today.
+	 * @param newKey The private key of the new key pair.
+	 * @param journal The journal file, created if it does not exist.
+	 */
+	public KeyRotation(final ConcurrentRSAService rsa, final RSAPublicKey oldKey, final RSAPrivateKey newKey, Path journal)
+	{
+		this(new Wrapping()
+		{
+			@Override
+			public byte[] unwrap(byte[] wrapped) throws Exception
+			{
+				return rsa.decode(wrapped, oldKey);
+			}
+
+			@Override
+			public byte[] wrap(byte[] key) throws Exception
+			{
+				return rsa.encode(key, newKey);
+			}
+		}, journal);
+	}
+
+	private KeyRotation(Wrapping wrapping, Path journal)
+	{
+		this.wrapping = wrapping;
+		this.journal = journal;
+		this.pool = new ForkJoinPool();
+	}
+
+	/**
+	 * Shut down the pool the files are rotated on. A rotation in progress
+	 * finishes first.
+	 */
+	@Override
+	public void close()
+	{
+		pool.shutdown();
+	}
+
+	/**
+	 * Rotate every regular file under a directory except the journal and any
+	 * temporary file left by a run that was stopped.
+	 *
+	 * @param directory The directory to rotate.
+	 * @param format The kind of file it holds.
+	 * @return What happened to each file.
+	 * @throws IOException If the directory or journal cannot be read.
+	 */
+	public Result rotate(Path directory, Format format) throws IOException
+	{
+		final Path skip = journal.toAbsolutePath().normalize();
+		final List<Path> files = new ArrayList<>();
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+			{
+				if (attrs.isRegularFile() && !file.toAbsolutePath().normalize().equals(skip)
+						&& !file.getFileName().toString().startsWith(TEMP_PREFIX))
+				{
+					files.add(file);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return rotate(files, format);
+	}
+
+	/**
+	 * Rotate a list of files. A file that fails is reported in the result and
+	 * does not stop the others.
+	 *
+	 * @param files The files to rotate.
+	 * @param format The kind of file they are.
+	 * @return What happened to each file.
+	 * @throws IOException If the journal cannot be read or written.
+	 */
+	public Result rotate(Collection<Path> files, Format format) throws IOException
+	{
+		final Map<String, String> done = readJournal();
+		final Result result = new Result();
+		try (BufferedWriter writer = Files.newBufferedWriter(journal, StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND))
+		{
+			final Map<Path, PoolTask<Boolean>> jobs = new LinkedHashMap<>();
+			for (Path file : files)
+			{
+				String key = file.toAbsolutePath().normalize().toString();
+				jobs.put(file, PoolTask.submit(pool, new RotateFile(file, key, done.get(key), format, writer)));
+			}
+			for (Map.Entry<Path, PoolTask<Boolean>> job : jobs.entrySet())
+			{
+				try
+				{
+					if (job.getValue().await())
+					{
+						result.rotated++;
+					}
+					else
+					{
+						result.skipped++;
+					}
+				}
+				catch (Exception ex)
+				{
+					// The exception the file itself failed with.
+					result.failures.put(job.getKey(), ex);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The outcome of a rotation run.
+	 */
+	public static class Result
+	{
+
+		private int rotated = 0;
+		private int skipped = 0;
+		private final Map<Path, Exception> failures = new LinkedHashMap<>();
+
+		/**
+		 * @return The number of files moved to the new key.
+		 */
+		public int getRotated()
+		{
+			return rotated;
+		}
+
+		/**
+		 * @return The number of files an earlier run had already rotated.
+		 */
+		public int getSkipped()
+		{
+			return skipped;
+		}
+
+		/**
+		 * @return The files that could not be rotated and why.
+		 */
+		public Map<Path, Exception> getFailures()
+		{
+			return Collections.unmodifiableMap(failures);
+		}
+	}
+
+	/**
+	 * How keys are unwrapped with the old key pair and wrapped with the new
+	 * one.
+	 */
+	private interface Wrapping
+	{
+
+		byte[] unwrap(byte[] wrapped) throws Exception;
+
+		byte[] wrap(byte[] key) throws Exception;
+	}
+
+	/**
+	 * The last journal line for each path.
+	 */
+	private Map<String, String> readJournal() throws IOException
+	{
+		final Map<String, String> done = new HashMap<>();
+		if (Files.exists(journal))
+		{
+			for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8))
+			{
+				int tab = line.indexOf('\t');
+				if (tab > 0)
+				{
+					done.put(line.substring(tab + 1), line.substring(0, tab));
+				}
+			}
+		}
+		return done;
+	}
+
+	/**
+	 * Rotate one file on a worker thread.
+	 */
+	private class RotateFile implements Callable<Boolean>
+	{
+
+		private final Path file;
+		private final String key;
+		private final String journaled;
+		private final Format format;
+		private final BufferedWriter writer;
+
+		RotateFile(Path file, String key, String journaled, Format format, BufferedWriter writer)
+		{
+			this.file = file;
+			this.key = key;
+			this.journaled = journaled;
+			this.format = format;
+			this.writer = writer;
+		}
+
+		/**
+		 * @return True if the file was rotated, false if it already had been.
+		 */
+		@Override
+		public Boolean call() throws Exception
+		{
+			try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ))
+			{
+				final byte[] wrapped = format == Format.HYBRID
+						? HybridService.readHeader(Channels.newInputStream(in))
+						: Files.readAllBytes(file);
+				if (journaled != null && journaled.equals(RawDigestSHA.toHex(RawDigestSHA.sha256(wrapped))))
+				{
+					return false;
+				}
+
+				final byte[] aesKey = wrapping.unwrap(wrapped);
+				final byte[] rewrapped;
+				try
+				{
+					rewrapped = wrapping.wrap(aesKey);
+				}
+				finally
+				{
+					Arrays.fill(aesKey, (byte) 0);
+				}
+
+				final Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), TEMP_PREFIX, null);
+				try
+				{
+					try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE))
+					{
+						if (format == Format.HYBRID)
+						{
+							HybridService.writeHeader(Channels.newOutputStream(out), rewrapped);
+							final long size = in.size();
+							long position = in.position();
+							while (position < size)
+							{
+								position += in.transferTo(position, size - position, out);
+							}
+						}
+						else
+						{
+							OutputStream outstream = Channels.newOutputStream(out);
+							outstream.write(rewrapped);
+						}
+						out.force(true);
+					}
+					journal(RawDigestSHA.toHex(RawDigestSHA.sha256(rewrapped)));
+					Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				}
+				finally
+				{
+					Files.deleteIfExists(temp);
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Record the new wrapped key before the move, so a restarted run can
+		 * tell a moved file from one that was not.
+		 */
+		private void journal(String sha256) throws IOException
+		{
+			synchronized (writer)
+			{
+				writer.write(sha256 + '\t' + key);
+				writer.newLine();
+				writer.flush();
+			}
+		}
+	}
+}
@@ -0,0 +1,264 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * Encrypt and decrypt streams on every core of the machine.
+ * <p>
+ * The input is split into fixed size segments. Each segment is encrypted on
+ * its own by AESService.encode(byte[]) so it carries its own IV, and the
+ * segments run on a fork-join pool through a ConcurrentAESService. The output
+ * is framed so the decoder can hand the segments to the pool again and write
+ * them back in order:</p>
+ * <pre>
+ * int magic, int segment size, { int length, byte[length] segment }*, int -1
+ * </pre>
+ * <p>
+ * Only a bounded window of segments is in flight at any time, so memory use
+ * does not grow with the size of the input.</p>
+ * <p>
+ * A service created with its own pool shuts the pool down when it is
+ * closed; a pool passed in by the caller is left running.</p>
+ */
+public class ParallelAESService implements Closeable
+{
+
+	/**
+	 * Default plaintext segment size, 1 MB.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+
+	private static final int MAGIC = 0x50414553;
+	private static final int END_OF_SEGMENTS = -1;
+	/**
+	 * Room for the IV and padding AESService adds to every segment.
+	 */
+	private static final int SEGMENT_OVERHEAD = 1024;
+
+	private final ConcurrentAESService aes;
+	private final int segmentSize;
+	private final ForkJoinPool pool;
+	private final boolean ownsPool;
+
+	/**
+	 * Create a service that uses the key of an existing AESService, the
+	 * default segment size and one worker per processor.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 */
+	public ParallelAESService(AESService aes)
+	{
+		this(aes, DEFAULT_SEGMENT_SIZE, new ForkJoinPool(), true);
+	}
+
+	/**
+	 * Create a service that uses the key of an existing AESService.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 * @param segmentSize The number of plaintext bytes in each segment.
+	 * @param pool The pool the segments run on. It is not shut down by close.
+	 */
+	public ParallelAESService(AESService aes, int segmentSize, ForkJoinPool pool)
+	{
+		this(aes, segmentSize, pool, false);
+	}
+
+	private ParallelAESService(AESService aes, int segmentSize, ForkJoinPool pool, boolean ownsPool)
+	{
+		if (segmentSize <= 0)
+		{
+			throw new IllegalArgumentException("Segment size must be positive.");
+		}
+		this.aes = new ConcurrentAESService(aes);
+		this.segmentSize = segmentSize;
+		this.pool = pool;
+		this.ownsPool = ownsPool;
+	}
+
+	/**
+	 * Shut down the pool if the service created it. Work in flight finishes
+	 * first.
+	 */
+	@Override
+	public void close()
+	{
+		if (ownsPool)
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Encrypt a stream in parallel segments.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the framed segments are written to.
+	 * @throws Exception
+	 */
+	public void encode(InputStream instream, OutputStream outstream) throws Exception
+	{
+		final DataOutputStream out = new DataOutputStream(outstream);
+		out.writeInt(MAGIC);
+		out.writeInt(segmentSize);
+
+		final Deque<PoolTask<byte[]>> window = new ArrayDeque<>();
+		byte[] segment;
+		while ((segment = readSegment(instream)) != null)
+		{
+			window.add(PoolTask.submit(pool, new Segment(segment, true)));
+			if (window.size() >= maxInFlight())
+			{
+				writeFrame(out, take(window));
+			}
+		}
+		while (!window.isEmpty())
+		{
+			writeFrame(out, take(window));
+		}
+		out.writeInt(END_OF_SEGMENTS);
+		out.flush();
+	}
+
+	/**
+	 * Decrypt a stream written by encode.
+	 *
+	 * @param instream The framed stream to decrypt.
+	 * @param outstream The stream the plaintext is written to.
+	 * @throws Exception
+	 */
+	public void decode(InputStream instream, OutputStream outstream) throws Exception
+	{
+		final DataInputStream in = new DataInputStream(instream);
+		if (in.readInt() != MAGIC)
+		{
+			throw new IOException("Stream was not written by ParallelAESService.");
+		}
+		final int maxFrame = in.readInt() + SEGMENT_OVERHEAD;
+
+		final Deque<PoolTask<byte[]>> window = new ArrayDeque<>();
+		int length;
+		while ((length = in.readInt()) != END_OF_SEGMENTS)
+		{
+			if (length < 0 || length > maxFrame)
+			{
+				throw new IOException("Corrupt segment length " + length + ".");
+			}
+			byte[] frame = new byte[length];
+			in.readFully(frame);
+			window.add(PoolTask.submit(pool, new Segment(frame, false)));
+			if (window.size() >= maxInFlight())
+			{
+				outstream.write(take(window));
+			}
+		}
+		while (!window.isEmpty())
+		{
+			outstream.write(take(window));
+		}
+		outstream.flush();
+	}
+
+	/**
+	 * Two segments per worker keeps every core busy while the oldest segment
+	 * is being written.
+	 */
+	private int maxInFlight()
+	{
+		return pool.getParallelism() * 2;
+	}
+
+	/**
+	 * Read the next segment, or null at the end of the stream.
+	 */
+	private byte[] readSegment(InputStream instream) throws IOException
+	{
+		byte[] buffer = new byte[segmentSize];
+		int count = 0;
+		int n;
+		while (count < segmentSize && (n = instream.read(buffer, count, segmentSize - count)) != -1)
+		{
+			count += n;
+		}
+		if (count == 0)
+		{
+			return null;
+		}
+		if (count < segmentSize)
+		{
+			byte[] last = new byte[count];
+			System.arraycopy(buffer, 0, last, 0, count);
+			return last;
+		}
+		return buffer;
+	}
+
+	private static void writeFrame(DataOutputStream out, byte[] frame) throws IOException
+	{
+		out.writeInt(frame.length);
+		out.write(frame);
+	}
+
+	/**
+	 * Wait for the oldest segment and pass on any failure as the exception the
+	 * segment itself threw.
+	 */
+	private static byte[] take(Deque<PoolTask<byte[]>> window) throws Exception
+	{
+		return window.remove().await(window);
+	}
+
+	/**
+	 * Encrypt or decrypt one segment on a worker thread.
+	 */
+	private class Segment implements Callable<byte[]>
+	{
+
+		private final byte[] data;
+		private final boolean encode;
+
+		Segment(byte[] data, boolean encode)
+		{
+			this.data = data;
+			this.encode = encode;
+		}
+
+		@Override
+		public byte[] call() throws Exception
+		{
+			return encode ? aes.encode(data) : aes.decode(data);
+		}
+	}
+}
@@ -0,0 +1,348 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+
+/**
+ * Encrypt and decrypt streams with RSA on every core of the machine.
+ * <p>
+ * RSAService works through a stream one RSA block after another, and a
+ * 4096-bit private key decrypt costs milliseconds per block, so large
+ * streams are bound by a single core. This service reads ahead a window of
+ * segments of a few RSA blocks each, runs them on a fork-join pool through
+ * a ConcurrentRSAService and writes the results back in order. The output is
+ * framed so the decoder can do the same:</p>
+ * <pre>
+ * int magic, int segment size, { int length, byte[length] segment }*, int -1
+ * </pre>
+ * <p>
+ * Only a bounded window of segments is in flight at any time, so memory use
+ * does not grow with the size of the input. For bulk data HybridService is
+ * still far faster; this service is for callers that need RSA throughout.</p>
+ * <p>
+ * A service created with its own pool shuts the pool down when it is
+ * closed; a pool passed in by the caller is left running.</p>
+ */
+public class ParallelRSAService implements Closeable
+{
+
+	/**
+	 * Default plaintext segment size, 4 KB. Each segment is a couple of dozen
+	 * RSA blocks, enough work to hide the cost of handing it to the pool.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024;
+
+	private static final int MAGIC = 0x50525341;
+	private static final int END_OF_SEGMENTS = -1;
+
+	private final ConcurrentRSAService rsa;
+	private final int segmentSize;
+	private final ForkJoinPool pool;
+	private final boolean ownsPool;
+
+	/**
+	 * Create a service with the default segment size and one worker per
+	 * processor.
+	 *
+	 * @param rsa The service that performs the RSA operations.
+	 */
+	public ParallelRSAService(ConcurrentRSAService rsa)
+	{
+		this(rsa, DEFAULT_SEGMENT_SIZE, new ForkJoinPool(), true);
+	}
+
+	/**
+	 * Create a service.
+	 *
+	 * @param rsa The service that performs the RSA operations.
+	 * @param segmentSize The number of plaintext bytes in each segment.
+	 * @param pool The pool the segments run on. It is not shut down by close.
+	 */
+	public ParallelRSAService(ConcurrentRSAService rsa, int segmentSize, ForkJoinPool pool)
+	{
+		this(rsa, segmentSize, pool, false);
+	}
+
+	private ParallelRSAService(ConcurrentRSAService rsa, int segmentSize, ForkJoinPool pool, boolean ownsPool)
+	{
+		if (segmentSize <= 0)
+		{
+			throw new IllegalArgumentException("Segment size must be positive.");
+		}
+		this.rsa = rsa;
+		this.segmentSize = segmentSize;
+		this.pool = pool;
+		this.ownsPool = ownsPool;
+	}
+
+	/**
+	 * Shut down the pool if the service created it. Work in flight finishes
+	 * first.
+	 */
+	@Override
+	public void close()
+	{
+		if (ownsPool)
+		{
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Encrypt a stream with a public key in parallel segments.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the framed segments are written to.
+	 * @param key The public key.
+	 * @throws Exception
+	 */
+	public void encode(InputStream instream, OutputStream outstream, final RSAPublicKey key) throws Exception
+	{
+		encode(instream, outstream, new Operation()
+		{
+			@Override
+			public byte[] apply(byte[] data) throws Exception
+			{
+				return rsa.encode(data, key);
+			}
+		});
+	}
+
+	/**
+	 * Encrypt a stream with a private key in parallel segments.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the framed segments are written to.
+	 * @param key The private key.
+	 * @throws Exception
+	 */
+	public void encode(InputStream instream, OutputStream outstream, final RSAPrivateKey key) throws Exception
+	{
+		encode(instream, outstream, new Operation()
+		{
+			@Override
+			public byte[] apply(byte[] data) throws Exception
+			{
+				return rsa.encode(data, key);
+			}
+		});
+	}
+
+	/**
+	 * Decrypt a stream written by encode with the matching public key.
+	 *
+	 * @param instream The framed stream to decrypt.
+	 * @param outstream The stream the plaintext is written to.
+	 * @param key The private key.
+	 * @throws Exception
+	 */
+	public void decode(InputStream instream, OutputStream outstream, final RSAPrivateKey key) throws Exception
+	{
+		decode(instream, outstream, new Operation()
+		{
+			@Override
+			public byte[] apply(byte[] data) throws Exception
+			{
+				return rsa.decode(data, key);
+			}
+		});
+	}
+
+	/**
+	 * Decrypt a stream written by encode with the matching private key.
+	 *
+	 * @param instream The framed stream to decrypt.
+	 * @param outstream The stream the plaintext is written to.
+	 * @param key The public key.
+	 * @throws Exception
+	 */
+	public void decode(InputStream instream, OutputStream outstream, final RSAPublicKey key) throws Exception
+	{
+		decode(instream, outstream, new Operation()
+		{
+			@Override
+			public byte[] apply(byte[] data) throws Exception
+			{
+				return rsa.decode(data, key);
+			}
+		});
+	}
+
+	private void encode(InputStream instream, OutputStream outstream, Operation operation) throws Exception
+	{
+		final DataOutputStream out = new DataOutputStream(outstream);
+		out.writeInt(MAGIC);
+		out.writeInt(segmentSize);
+
+		final Deque<PoolTask<byte[]>> window = new ArrayDeque<>();
+		byte[] segment;
+		while ((segment = readSegment(instream)) != null)
+		{
+			window.add(PoolTask.submit(pool, new Segment(segment, operation)));
+			if (window.size() >= maxInFlight())
+			{
+				writeFrame(out, take(window));
+			}
+		}
+		while (!window.isEmpty())
+		{
+			writeFrame(out, take(window));
+		}
+		out.writeInt(END_OF_SEGMENTS);
+		out.flush();
+	}
+
+	private void decode(InputStream instream, OutputStream outstream, Operation operation) throws Exception
+	{
+		final DataInputStream in = new DataInputStream(instream);
+		if (in.readInt() != MAGIC)
+		{
+			throw new IOException("Stream was not written by ParallelRSAService.");
+		}
+		final int maxFrame = maxFrame(in.readInt());
+
+		final Deque<PoolTask<byte[]>> window = new ArrayDeque<>();
+		int length;
+		while ((length = in.readInt()) != END_OF_SEGMENTS)
+		{
+			if (length <= 0 || length > maxFrame)
+			{
+				throw new IOException("Corrupt segment length " + length + ".");
+			}
+			byte[] frame = new byte[length];
+			in.readFully(frame);
+			window.add(PoolTask.submit(pool, new Segment(frame, operation)));
+			if (window.size() >= maxInFlight())
+			{
+				outstream.write(take(window));
+			}
+		}
+		while (!window.isEmpty())
+		{
+			outstream.write(take(window));
+		}
+		outstream.flush();
+	}
+
+	/**
+	 * RSA output is larger than its input: every block gains padding and is
+	 * rounded up to the key size. Twice the segment plus one 16384-bit block
+	 * covers any key size and padding.
+	 */
+	private static int maxFrame(int segmentSize) throws IOException
+	{
+		if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE / 2 - HybridService.MAX_WRAPPED_KEY)
+		{
+			throw new IOException("Corrupt segment size " + segmentSize + ".");
+		}
+		return segmentSize * 2 + HybridService.MAX_WRAPPED_KEY;
+	}
+
+	/**
+	 * Two segments per worker keeps every core busy while the oldest segment
+	 * is being written.
+	 */
+	private int maxInFlight()
+	{
+		return pool.getParallelism() * 2;
+	}
+
+	/**
+	 * Read the next segment, or null at the end of the stream.
+	 */
+	private byte[] readSegment(InputStream instream) throws IOException
+	{
+		byte[] buffer = new byte[segmentSize];
+		int count = Streams.readFully(instream, buffer);
+		if (count == 0)
+		{
+			return null;
+		}
+		if (count < segmentSize)
+		{
+			byte[] last = new byte[count];
+			System.arraycopy(buffer, 0, last, 0, count);
+			return last;
+		}
+		return buffer;
+	}
+
+	private static void writeFrame(DataOutputStream out, byte[] frame) throws IOException
+	{
+		out.writeInt(frame.length);
+		out.write(frame);
+	}
+
+	/**
+	 * Wait for the oldest segment and pass on any failure as the exception the
+	 * segment itself threw, such as a wrong key.
+	 */
+	private static byte[] take(Deque<PoolTask<byte[]>> window) throws Exception
+	{
+		return window.remove().await(window);
+	}
+
+	/**
+	 * One RSA operation with its key bound in.
+	 */
+	private interface Operation
+	{
+
+		byte[] apply(byte[] data) throws Exception;
+	}
+
+	/**
+	 * Encrypt or decrypt one segment on a worker thread.
+	 */
+	private static class Segment implements Callable<byte[]>
+	{
+
+		private final byte[] data;
+		private final Operation operation;
+
+		Segment(byte[] data, Operation operation)
+		{
+			this.data = data;
+			this.operation = operation;
+		}
+
+		@Override
+		public byte[] call() throws Exception
+		{
+			return operation.apply(data);
+		}
+	}
+}
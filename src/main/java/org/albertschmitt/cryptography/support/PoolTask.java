@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A Callable run on a fork-join pool that hands back the exception the
+ * Callable itself threw.
+ * <p>
+ * ForkJoinPool.submit(Callable) wraps a checked exception in a
+ * RuntimeException, so callers would see the wrapper instead of, say, the
+ * IOException of a bad file. A FutureTask keeps the exception but its get
+ * parks a pool worker outright, which deadlocks the pool when jobs wait for
+ * tasks of their own, as DirectoryEncryptor's large files do. This task
+ * keeps the exception and is joined the fork-join way, so a waiting worker
+ * runs queued tasks instead of blocking.</p>
+ *
+ * @param <T> The result type.
+ */
+final class PoolTask<T> extends ForkJoinTask<T>
+{
+
+	private static final long serialVersionUID = 1L;
+
+	private final Callable<T> callable;
+	private T result;
+	private Exception failure;
+
+	private PoolTask(Callable<T> callable)
+	{
+		this.callable = callable;
+	}
+
+	/**
+	 * Run a Callable on a pool.
+	 *
+	 * @param pool The pool to run on.
+	 * @param callable The work.
+	 * @return The task, to be waited for with await.
+	 */
+	static <T> PoolTask<T> submit(ForkJoinPool pool, Callable<T> callable)
+	{
+		PoolTask<T> task = new PoolTask<>(callable);
+		pool.execute(task);
+		return task;
+	}
+
+	/**
+	 * Wait for the result.
+	 *
+	 * @return The result of the Callable.
+	 * @throws Exception The exception the Callable threw.
+	 */
+	T await() throws Exception
+	{
+		join();
+		if (failure != null)
+		{
+			throw failure;
+		}
+		return result;
+	}
+
+	/**
+	 * Wait for the result, cancelling the other tasks if it failed.
+	 */
+	T await(Collection<? extends PoolTask<?>> others) throws Exception
+	{
+		try
+		{
+			return await();
+		}
+		catch (Exception ex)
+		{
+			for (PoolTask<?> other : others)
+			{
+				other.cancel(true);
+			}
+			throw ex;
+		}
+	}
+
+	@Override
+	public T getRawResult()
+	{
+		return result;
+	}
+
+	@Override
+	protected void setRawResult(T value)
+	{
+		result = value;
+	}
+
+	@Override
+	protected boolean exec()
+	{
+		try
+		{
+			result = callable.call();
+		}
+		catch (Exception ex)
+		{
+			failure = ex;
+		}
+		return true;
+	}
+}
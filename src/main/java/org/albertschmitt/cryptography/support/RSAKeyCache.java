@@ -0,0 +1,382 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+
+/**
+ * Cache parsed RSA keys so repeated loads of the same key skip reading and
+ * parsing the PEM, and for password protected keys, decrypting it.
+ * <p>
+ * Keys read from a file are cached by path, modification time and length, so
+ * a key file that is replaced on disk is read again. Keys read from a stream
+ * are cached by the SHA-256 of the stream content. A password is part of the
+ * cache key, as an HMAC under a secret that lives only as long as the cache,
+ * so a wrong password is never answered from the cache. The least recently
+ * used key is evicted once the cache is full.</p>
+ */
+public class RSAKeyCache
+{
+
+	/**
+	 * Default number of keys held.
+	 */
+	public static final int DEFAULT_CAPACITY = 256;
+
+	private static final String PRIVATE = "private";
+	private static final String PUBLIC = "public";
+
+	private final RSAService rsa;
+	private final int capacity;
+	private final Map<CacheKey, Object> keys;
+	private final SecretKeySpec passwordSecret;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Create a cache of the default capacity.
+	 *
+	 * @param rsa The RSAService that reads keys on a miss.
+	 */
+	public RSAKeyCache(RSAService rsa)
+	{
+		this(rsa, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a cache.
+	 *
+	 * @param rsa The RSAService that reads keys on a miss.
+	 * @param capacity The maximum number of keys held.
+	 */
+	public RSAKeyCache(RSAService rsa, int capacity)
+	{
+		if (capacity <= 0)
+		{
+			throw new IllegalArgumentException("Capacity must be positive.");
+		}
+		this.rsa = rsa;
+		this.capacity = capacity;
+		this.keys = new LinkedHashMap<CacheKey, Object>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, Object> eldest)
+			{
+				if (size() > RSAKeyCache.this.capacity)
+				{
+					evictions.incrementAndGet();
+					return true;
+				}
+				return false;
+			}
+		};
+
+		byte[] secret = new byte[32];
+		new SecureRandom().nextBytes(secret);
+		this.passwordSecret = new SecretKeySpec(secret, "HmacSHA256");
+	}
+
+	/**
+	 * Read a private key file.
+	 *
+	 * @param filename The PEM file.
+	 * @return The private key.
+	 * @throws Exception
+	 */
+	public RSAPrivateKey readPrivateKey(String filename) throws Exception
+	{
+		CacheKey key = fileKey(PRIVATE, filename, "");
+		RSAPrivateKey privateKey = (RSAPrivateKey) get(key);
+		if (privateKey == null)
+		{
+			privateKey = rsa.readPrivateKey(filename);
+			put(key, privateKey);
+		}
+		return privateKey;
+	}
+
+	/**
+	 * Read a password protected private key file.
+	 *
+	 * @param filename The PEM file.
+	 * @param password The password the key was written with.
+	 * @return The private key.
+	 * @throws Exception
+	 */
+	public RSAPrivateKey readPrivateKey(String filename, char[] password) throws Exception
+	{
+		CacheKey key = fileKey(PRIVATE, filename, passwordHash(password));
+		RSAPrivateKey privateKey = (RSAPrivateKey) get(key);
+		if (privateKey == null)
+		{
+			privateKey = rsa.readPrivateKey(filename, password);
+			put(key, privateKey);
+		}
+		return privateKey;
+	}
+
+	/**
+	 * Read a private key from a stream.
+	 *
+	 * @param instream The PEM stream.
+	 * @return The private key.
+	 * @throws Exception
+	 */
+	public RSAPrivateKey readPrivateKey(InputStream instream) throws Exception
+	{
+		byte[] pem = readAll(instream);
+		CacheKey key = contentKey(PRIVATE, pem);
+		RSAPrivateKey privateKey = (RSAPrivateKey) get(key);
+		if (privateKey == null)
+		{
+			privateKey = rsa.readPrivateKey(new ByteArrayInputStream(pem));
+			put(key, privateKey);
+		}
+		return privateKey;
+	}
+
+	/**
+	 * Read a public key file.
+	 *
+	 * @param filename The PEM file.
+	 * @return The public key.
+	 * @throws Exception
+	 */
+	public RSAPublicKey readPublicKey(String filename) throws Exception
+	{
+		CacheKey key = fileKey(PUBLIC, filename, "");
+		RSAPublicKey publicKey = (RSAPublicKey) get(key);
+		if (publicKey == null)
+		{
+			publicKey = rsa.readPublicKey(filename);
+			put(key, publicKey);
+		}
+		return publicKey;
+	}
+
+	/**
+	 * Read a public key from a stream.
+	 *
+	 * @param instream The PEM stream.
+	 * @return The public key.
+	 * @throws Exception
+	 */
+	public RSAPublicKey readPublicKey(InputStream instream) throws Exception
+	{
+		byte[] pem = readAll(instream);
+		CacheKey key = contentKey(PUBLIC, pem);
+		RSAPublicKey publicKey = (RSAPublicKey) get(key);
+		if (publicKey == null)
+		{
+			publicKey = rsa.readPublicKey(new ByteArrayInputStream(pem));
+			put(key, publicKey);
+		}
+		return publicKey;
+	}
+
+	/**
+	 * Drop every key read from a file.
+	 *
+	 * @param filename The PEM file.
+	 */
+	public synchronized void invalidate(String filename)
+	{
+		String source = new File(filename).getAbsolutePath();
+		Iterator<CacheKey> iterator = keys.keySet().iterator();
+		while (iterator.hasNext())
+		{
+			if (iterator.next().source.equals(source))
+			{
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Drop every key.
+	 */
+	public synchronized void invalidateAll()
+	{
+		keys.clear();
+	}
+
+	/**
+	 * @return The number of keys held.
+	 */
+	public synchronized int getSize()
+	{
+		return keys.size();
+	}
+
+	/**
+	 * @return The number of reads answered from the cache.
+	 */
+	public long getHits()
+	{
+		return hits.get();
+	}
+
+	/**
+	 * @return The number of reads that had to parse the key.
+	 */
+	public long getMisses()
+	{
+		return misses.get();
+	}
+
+	/**
+	 * @return The number of keys evicted to make room.
+	 */
+	public long getEvictions()
+	{
+		return evictions.get();
+	}
+
+	private synchronized Object get(CacheKey key)
+	{
+		Object value = keys.get(key);
+		if (value == null)
+		{
+			misses.incrementAndGet();
+		}
+		else
+		{
+			hits.incrementAndGet();
+		}
+		return value;
+	}
+
+	private synchronized void put(CacheKey key, Object value)
+	{
+		keys.put(key, value);
+	}
+
+	private static CacheKey fileKey(String kind, String filename, String secret)
+	{
+		File file = new File(filename);
+		return new CacheKey(kind, file.getAbsolutePath(), file.lastModified(), file.length(), secret);
+	}
+
+	private static CacheKey contentKey(String kind, byte[] content) throws GeneralSecurityException
+	{
+		byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+		return new CacheKey(kind, "sha256:" + new BigInteger(1, digest).toString(16), 0, content.length, "");
+	}
+
+	private String passwordHash(char[] password) throws GeneralSecurityException
+	{
+		ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+		byte[] bytes = new byte[encoded.remaining()];
+		encoded.get(bytes);
+		try
+		{
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(passwordSecret);
+			return new BigInteger(1, mac.doFinal(bytes)).toString(16);
+		}
+		finally
+		{
+			Arrays.fill(bytes, (byte) 0);
+			if (encoded.hasArray())
+			{
+				Arrays.fill(encoded.array(), (byte) 0);
+			}
+		}
+	}
+
+	private static byte[] readAll(InputStream instream) throws IOException
+	{
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int n;
+		while ((n = instream.read(buffer)) != -1)
+		{
+			bos.write(buffer, 0, n);
+		}
+		return bos.toByteArray();
+	}
+
+	private static final class CacheKey
+	{
+
+		private final String kind;
+		private final String source;
+		private final long modified;
+		private final long length;
+		private final String secret;
+
+		CacheKey(String kind, String source, long modified, long length, String secret)
+		{
+			this.kind = kind;
+			this.source = source;
+			this.modified = modified;
+			this.length = length;
+			this.secret = secret;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof CacheKey))
+			{
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return modified == other.modified
+				   && length == other.length
+				   && kind.equals(other.kind)
+				   && source.equals(other.source)
+				   && secret.equals(other.secret);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(kind, source, modified, length, secret);
+		}
+	}
+}
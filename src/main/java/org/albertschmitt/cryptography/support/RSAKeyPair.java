@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.albertschmitt.crypto.RSAService;
+import org.albertschmitt.crypto.common.RSAPrivateKey;
+import org.albertschmitt.crypto.common.RSAPublicKey;
+
+/**
+ * A freshly generated RSA key pair, both parsed and as the PEM bytes
+ * RSAService wrote, so the caller can use the keys right away and still
+ * store them.
+ */
+public class RSAKeyPair
+{
+
+	private final RSAPrivateKey privateKey;
+	private final RSAPublicKey publicKey;
+	private final byte[] privatePem;
+	private final byte[] publicPem;
+
+	private RSAKeyPair(RSAPrivateKey privateKey, RSAPublicKey publicKey, byte[] privatePem, byte[] publicPem)
+	{
+		this.privateKey = privateKey;
+		this.publicKey = publicKey;
+		this.privatePem = privatePem;
+		this.publicPem = publicPem;
+	}
+
+	/**
+	 * Generate a new key pair.
+	 *
+	 * @param rsa The RSAService that determines the key size.
+	 * @return The new key pair.
+	 * @throws Exception
+	 */
+	public static RSAKeyPair generate(RSAService rsa) throws Exception
+	{
+		ByteArrayOutputStream bos_private = new ByteArrayOutputStream();
+		ByteArrayOutputStream bos_public = new ByteArrayOutputStream();
+		rsa.generateKey(bos_private, bos_public);
+
+		byte[] privatePem = bos_private.toByteArray();
+		byte[] publicPem = bos_public.toByteArray();
+		RSAPrivateKey privateKey = rsa.readPrivateKey(new ByteArrayInputStream(privatePem));
+		RSAPublicKey publicKey = rsa.readPublicKey(new ByteArrayInputStream(publicPem));
+		return new RSAKeyPair(privateKey, publicKey, privatePem, publicPem);
+	}
+
+	public RSAPrivateKey getPrivateKey()
+	{
+		return privateKey;
+	}
+
+	public RSAPublicKey getPublicKey()
+	{
+		return publicKey;
+	}
+
+	/**
+	 * @return The private key in PEM format.
+	 */
+	public byte[] getPrivatePem()
+	{
+		return privatePem.clone();
+	}
+
+	/**
+	 * @return The public key in PEM format.
+	 */
+	public byte[] getPublicPem()
+	{
+		return publicPem.clone();
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.Closeable;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.albertschmitt.crypto.RSAService.KEYSIZE;
+
+/**
+ * Keep a supply of ready RSA key pairs so callers do not wait seconds for a
+ * 4096-bit key to be generated.
+ * <p>
+ * Background threads generate pairs until the pool holds the high-water
+ * mark. Every pair taken out starts the generation of a replacement. The
+ * counters show how often callers found the pool empty and how long a refill
+ * takes, which is what to watch when sizing the high-water mark.</p>
+ */
+public class RSAKeyPairPool implements Closeable
+{
+
+	private final KEYSIZE keysize;
+	private final int highWaterMark;
+	private final BlockingQueue<RSAKeyPair> pairs = new LinkedBlockingQueue<>();
+	private final ExecutorService workers;
+	private final AtomicInteger pending = new AtomicInteger();
+	private final AtomicLong generated = new AtomicLong();
+	private final AtomicLong generateNanos = new AtomicLong();
+	private final AtomicLong taken = new AtomicLong();
+	private final AtomicLong exhausted = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+	private volatile boolean closed = false;
+
+	/**
+	 * Create a pool of 4096-bit key pairs with one generator thread per
+	 * processor.
+	 *
+	 * @param highWaterMark The number of pairs to keep ready.
+	 */
+	public RSAKeyPairPool(int highWaterMark)
+	{
+		this(KEYSIZE.RSA_4K, highWaterMark, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a pool.
+	 *
+	 * @param keysize The size of the keys to generate.
+	 * @param highWaterMark The number of pairs to keep ready.
+	 * @param threads The number of generator threads.
+	 */
+	public RSAKeyPairPool(KEYSIZE keysize, int highWaterMark, int threads)
+	{
+		if (highWaterMark <= 0 || threads <= 0)
+		{
+			throw new IllegalArgumentException("High-water mark and threads must be positive.");
+		}
+		this.keysize = keysize;
+		this.highWaterMark = highWaterMark;
+		this.workers = Executors.newFixedThreadPool(threads, new ThreadFactory()
+		{
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r)
+			{
+				Thread thread = new Thread(r, "rsa-key-pool-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			}
+		});
+		refill();
+	}
+
+	/**
+	 * Take a ready key pair without waiting.
+	 *
+	 * @return A key pair, or null if the pool is empty.
+	 */
+	public RSAKeyPair poll()
+	{
+		RSAKeyPair pair = pairs.poll();
+		if (pair == null)
+		{
+			exhausted.incrementAndGet();
+		}
+		else
+		{
+			taken.incrementAndGet();
+		}
+		refill();
+		return pair;
+	}
+
+	/**
+	 * Take a key pair, waiting for one to be generated if the pool is empty.
+	 *
+	 * @param timeout How long to wait.
+	 * @param unit The unit of timeout.
+	 * @return A key pair, or null if none was ready in time.
+	 * @throws InterruptedException
+	 */
+	public RSAKeyPair take(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		RSAKeyPair pair = poll();
+		if (pair == null)
+		{
+			pair = pairs.poll(timeout, unit);
+			if (pair != null)
+			{
+				taken.incrementAndGet();
+				refill();
+			}
+		}
+		return pair;
+	}
+
+	/**
+	 * @return The number of pairs ready to be taken.
+	 */
+	public int getAvailable()
+	{
+		return pairs.size();
+	}
+
+	/**
+	 * @return The number of pairs generated since the pool was created.
+	 */
+	public long getGenerated()
+	{
+		return generated.get();
+	}
+
+	/**
+	 * @return The number of pairs handed out.
+	 */
+	public long getTaken()
+	{
+		return taken.get();
+	}
+
+	/**
+	 * @return The number of times a caller found the pool empty.
+	 */
+	public long getExhausted()
+	{
+		return exhausted.get();
+	}
+
+	/**
+	 * @return The number of key generations that failed.
+	 */
+	public long getFailures()
+	{
+		return failures.get();
+	}
+
+	/**
+	 * @return The average time to generate one pair in milliseconds.
+	 */
+	public double getAverageGenerateMillis()
+	{
+		long count = generated.get();
+		return count == 0 ? 0 : generateNanos.get() / 1e6 / count;
+	}
+
+	/**
+	 * Stop the generator threads. Pairs already in the pool can still be
+	 * taken.
+	 */
+	@Override
+	public void close()
+	{
+		closed = true;
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Start enough generators to bring the pool back up to the high-water
+	 * mark.
+	 */
+	private void refill()
+	{
+		while (!closed)
+		{
+			int inFlight = pending.get();
+			if (pairs.size() + inFlight >= highWaterMark)
+			{
+				return;
+			}
+			if (pending.compareAndSet(inFlight, inFlight + 1))
+			{
+				try
+				{
+					workers.execute(new Generator());
+				}
+				catch (RejectedExecutionException ex)
+				{
+					// The pool was closed while this generator was being started.
+					pending.decrementAndGet();
+					return;
+				}
+			}
+		}
+	}
+
+	private class Generator implements Runnable
+	{
+
+		@Override
+		public void run()
+		{
+			boolean success = false;
+			try
+			{
+				long start = System.nanoTime();
+				RSAKeyPair pair = RSAKeyPair.generate(new RSAService4K(keysize));
+				generateNanos.addAndGet(System.nanoTime() - start);
+				generated.incrementAndGet();
+				pairs.add(pair);
+				success = true;
+			}
+			catch (Exception ex)
+			{
+				failures.incrementAndGet();
+			}
+			finally
+			{
+				pending.decrementAndGet();
+			}
+			// After a failure wait for the next caller rather than spin.
+			if (success)
+			{
+				refill();
+			}
+		}
+	}
+}
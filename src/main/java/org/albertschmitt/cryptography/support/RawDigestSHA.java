@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digests as raw bytes, and stream decorators that compute the
+ * digest of the data flowing through them.
+ * <p>
+ * Wrapping the input of an encode and the output of a decode gives the
+ * digests of the original and the decrypted data without reading either
+ * file again, and the raw digests can go straight to Compare.safeEquals
+ * without first being turned into hex Strings.</p>
+ * <p>
+ * The sha256 methods are recorded in CryptoMetrics while it is enabled.</p>
+ */
+public class RawDigestSHA
+{
+
+	private static final String SHA256 = "SHA-256";
+	private static final String METRIC = "SHA-256.digest";
+	private static final int BUFFER_SIZE = 1024 * 8;
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * SHA-256 of a byte array.
+	 *
+	 * @param data The data to digest.
+	 * @return The 32 byte digest.
+	 * @throws NoSuchAlgorithmException
+	 */
+	public static byte[] sha256(byte[] data) throws NoSuchAlgorithmException
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			byte[] digest = MessageDigest.getInstance(SHA256).digest(data);
+			CryptoMetrics.record(METRIC, start, data.length);
+			return digest;
+		}
+		catch (NoSuchAlgorithmException | RuntimeException ex)
+		{
+			CryptoMetrics.error(METRIC, start);
+			throw ex;
+		}
+	}
+
+	/**
+	 * SHA-256 of a stream, read to its end.
+	 *
+	 * @param instream The data to digest.
+	 * @return The 32 byte digest.
+	 * @throws NoSuchAlgorithmException
+	 * @throws IOException
+	 */
+	public static byte[] sha256(InputStream instream) throws NoSuchAlgorithmException, IOException
+	{
+		final long start = CryptoMetrics.start();
+		try
+		{
+			MessageDigest digest = MessageDigest.getInstance(SHA256);
+			byte[] buffer = new byte[BUFFER_SIZE];
+			long count = 0;
+			int n;
+			while ((n = instream.read(buffer)) != -1)
+			{
+				digest.update(buffer, 0, n);
+				count += n;
+			}
+			CryptoMetrics.record(METRIC, start, count);
+			return digest.digest();
+		}
+		catch (NoSuchAlgorithmException | IOException | RuntimeException ex)
+		{
+			CryptoMetrics.error(METRIC, start);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Wrap an InputStream so the SHA-256 of everything read through it is
+	 * computed along the way. Call getMessageDigest().digest() once the
+	 * stream has been read.
+	 *
+	 * @param instream The stream to wrap.
+	 * @return The digesting stream.
+	 * @throws NoSuchAlgorithmException
+	 */
+	public static DigestInputStream digestInput(InputStream instream) throws NoSuchAlgorithmException
+	{
+		return new DigestInputStream(instream, MessageDigest.getInstance(SHA256));
+	}
+
+	/**
+	 * Wrap an OutputStream so the SHA-256 of everything written through it is
+	 * computed along the way. Call getMessageDigest().digest() once the
+	 * stream has been written.
+	 *
+	 * @param outstream The stream to wrap.
+	 * @return The digesting stream.
+	 * @throws NoSuchAlgorithmException
+	 */
+	public static DigestOutputStream digestOutput(OutputStream outstream) throws NoSuchAlgorithmException
+	{
+		return new DigestOutputStream(outstream, MessageDigest.getInstance(SHA256));
+	}
+
+	/**
+	 * Lower case hex of a raw digest, for manifests and log lines.
+	 *
+	 * @param digest The digest bytes.
+	 * @return The hex String.
+	 */
+	public static String toHex(byte[] digest)
+	{
+		final char[] hex = new char[digest.length * 2];
+		for (int i = 0; i < digest.length; i++)
+		{
+			hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0x0f];
+			hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0x0f];
+		}
+		return new String(hex);
+	}
+}
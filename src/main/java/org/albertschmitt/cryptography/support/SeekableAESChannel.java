@@ -0,0 +1,266 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.security.GeneralSecurityException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * A read-only view of the plaintext of a file written by
+ * SeekableAESService.
+ * <p>
+ * position, size and read behave as they would on the plaintext file.
+ * Only the segments a read touches are decrypted, and the last one is kept
+ * so that small sequential reads do not decrypt the same segment twice.
+ * Every segment is verified before any of it is returned.</p>
+ * <p>
+ * A channel holds cipher state, so it is not thread safe. Open one per
+ * thread.</p>
+ */
+public class SeekableAESChannel implements SeekableByteChannel
+{
+
+	private static final int TAG_SIZE = AESGCMService.TAG_SIZE;
+
+	private final FileChannel channel;
+	private final SecretKeySpec key;
+	private final Cipher cipher;
+	private final byte[] prefix = new byte[SeekableAESService.PREFIX_SIZE];
+	private final int segmentSize;
+	private final long length;
+	private final ByteBuffer ciphertext;
+	private final byte[] segment;
+	private int segmentIndex = -1;
+	private int segmentLength = 0;
+	private long position = 0;
+	private boolean open = true;
+
+	SeekableAESChannel(FileChannel channel, SecretKeySpec key) throws IOException, GeneralSecurityException
+	{
+		this.channel = channel;
+		this.key = key;
+		this.cipher = AESCiphers.getInstance(AESGCMService.GCM);
+
+		final ByteBuffer header = ByteBuffer.allocate(SeekableAESService.HEADER_SIZE);
+		readFully(header, 0);
+		header.flip();
+		if (header.getInt() != SeekableAESService.MAGIC)
+		{
+			throw new IOException("File was not written by SeekableAESService.");
+		}
+		segmentSize = header.getInt();
+		if (segmentSize <= 0 || segmentSize > SeekableAESService.MAX_SEGMENT_SIZE)
+		{
+			throw new IOException("Corrupt segment size " + segmentSize + ".");
+		}
+		header.get(prefix);
+
+		final long fileSize = channel.size();
+		if (fileSize < SeekableAESService.HEADER_SIZE + SeekableAESService.TRAILER_SIZE)
+		{
+			throw new EOFException("Encrypted file is too short.");
+		}
+		final ByteBuffer sealed = ByteBuffer.allocate(SeekableAESService.TRAILER_SIZE);
+		readFully(sealed, fileSize - SeekableAESService.TRAILER_SIZE);
+		cipher.init(Cipher.DECRYPT_MODE, key, SeekableAESService.nonce(prefix, SeekableAESService.TRAILER_INDEX));
+		cipher.updateAAD(header.array());
+		final ByteBuffer trailer = ByteBuffer.wrap(cipher.doFinal(sealed.array()));
+		length = trailer.getLong();
+		final int count = trailer.getInt();
+
+		final long segments = (length + segmentSize - 1) / segmentSize;
+		final long expected = SeekableAESService.HEADER_SIZE + length + segments * TAG_SIZE + SeekableAESService.TRAILER_SIZE;
+		if (length < 0 || segments != count || expected != fileSize)
+		{
+			throw new IOException("Encrypted file was truncated or extended.");
+		}
+
+		ciphertext = ByteBuffer.allocate(segmentSize + TAG_SIZE);
+		segment = new byte[segmentSize];
+	}
+
+	/**
+	 * Decrypt a byte range of the plaintext.
+	 *
+	 * @param position The offset of the first byte.
+	 * @param count The number of bytes to read.
+	 * @return The plaintext, shorter than count only if the range runs past
+	 * the end of the file.
+	 * @throws IOException If a segment in the range fails verification.
+	 */
+	public byte[] read(long position, int count) throws IOException
+	{
+		ensureOpen();
+		if (position < 0 || count < 0)
+		{
+			throw new IllegalArgumentException("Position and count must not be negative.");
+		}
+		final int available = (int) Math.max(0, Math.min(count, length - position));
+		final ByteBuffer dst = ByteBuffer.allocate(available);
+		transfer(position, dst);
+		return dst.array();
+	}
+
+	@Override
+	public int read(ByteBuffer dst) throws IOException
+	{
+		ensureOpen();
+		if (position >= length)
+		{
+			return -1;
+		}
+		final int n = transfer(position, dst);
+		position += n;
+		return n;
+	}
+
+	@Override
+	public int write(ByteBuffer src)
+	{
+		throw new NonWritableChannelException();
+	}
+
+	@Override
+	public long position() throws IOException
+	{
+		ensureOpen();
+		return position;
+	}
+
+	@Override
+	public SeekableByteChannel position(long newPosition) throws IOException
+	{
+		ensureOpen();
+		if (newPosition < 0)
+		{
+			throw new IllegalArgumentException("Position must not be negative.");
+		}
+		position = newPosition;
+		return this;
+	}
+
+	/**
+	 * @return The length of the plaintext.
+	 * @throws IOException
+	 */
+	@Override
+	public long size() throws IOException
+	{
+		ensureOpen();
+		return length;
+	}
+
+	@Override
+	public SeekableByteChannel truncate(long size)
+	{
+		throw new NonWritableChannelException();
+	}
+
+	@Override
+	public boolean isOpen()
+	{
+		return open;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		open = false;
+		channel.close();
+	}
+
+	/**
+	 * Copy plaintext starting at position into dst until either runs out.
+	 */
+	private int transfer(long position, ByteBuffer dst) throws IOException
+	{
+		int total = 0;
+		while (dst.hasRemaining() && position < length)
+		{
+			final int index = (int) (position / segmentSize);
+			loadSegment(index);
+			final int offset = (int) (position - (long) index * segmentSize);
+			final int n = Math.min(dst.remaining(), segmentLength - offset);
+			dst.put(segment, offset, n);
+			position += n;
+			total += n;
+		}
+		return total;
+	}
+
+	/**
+	 * Read and decrypt one segment unless it is the one already held.
+	 */
+	private void loadSegment(int index) throws IOException
+	{
+		if (index == segmentIndex)
+		{
+			return;
+		}
+		segmentIndex = -1;
+		final long start = (long) index * segmentSize;
+		final int plainLength = (int) Math.min(segmentSize, length - start);
+		ciphertext.clear().limit(plainLength + TAG_SIZE);
+		readFully(ciphertext, SeekableAESService.HEADER_SIZE + (long) index * (segmentSize + TAG_SIZE));
+		try
+		{
+			cipher.init(Cipher.DECRYPT_MODE, key, SeekableAESService.nonce(prefix, index));
+			segmentLength = cipher.doFinal(ciphertext.array(), 0, ciphertext.limit(), segment, 0);
+		}
+		catch (GeneralSecurityException ex)
+		{
+			throw new IOException("Segment " + index + " failed verification.", ex);
+		}
+		segmentIndex = index;
+	}
+
+	private void readFully(ByteBuffer buffer, long offset) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			int n = channel.read(buffer, offset);
+			if (n == -1)
+			{
+				throw new EOFException("Encrypted file is too short.");
+			}
+			offset += n;
+		}
+	}
+
+	private void ensureOpen() throws ClosedChannelException
+	{
+		if (!open)
+		{
+			throw new ClosedChannelException();
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 acschmit.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.albertschmitt.cryptography.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.albertschmitt.crypto.AESService;
+
+/**
+ * Encrypt files so that any byte range can be decrypted without reading the
+ * rest of the file.
+ * <p>
+ * The plaintext is cut into fixed size segments and each is sealed with
+ * AES/GCM on its own, so reading a record costs one segment of work no
+ * matter where it sits in the file. The file is laid out as:</p>
+ * <pre>
+ * header:  int magic, int segment size, byte[8] nonce prefix
+ * segments: { byte[segment size] ciphertext, byte[16] tag }*, the last one shorter
+ * trailer: long plaintext length, int segment count, byte[16] tag
+ * </pre>
+ * <p>
+ * Every segment starts at header + index * (segment size + tag), so the
+ * offset index is positional and costs no space. Each segment nonce is the
+ * prefix and the segment number, so segments cannot be moved. The trailer
+ * is sealed with the header as associated data and records the length, so a
+ * truncated or extended file is rejected when it is opened.</p>
+ */
+public class SeekableAESService
+{
+
+	/**
+	 * Default plaintext segment size, 64 KB.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+	/**
+	 * Largest segment size a reader will accept.
+	 */
+	public static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	static final int MAGIC = 0x53414553;
+	static final int PREFIX_SIZE = 8;
+	static final int HEADER_SIZE = 4 + 4 + PREFIX_SIZE;
+	static final int TRAILER_SIZE = 8 + 4 + AESGCMService.TAG_SIZE;
+	/**
+	 * Segment number used in the nonce of the trailer.
+	 */
+	static final int TRAILER_INDEX = -1;
+
+	private final SecretKeySpec key;
+	private final int segmentSize;
+
+	/**
+	 * Create a service that uses the key of an existing AESService and the
+	 * default segment size.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 */
+	public SeekableAESService(AESService aes)
+	{
+		this(aes, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Create a service that uses the key of an existing AESService. Smaller
+	 * segments make point reads cheaper, larger ones lower the tag overhead.
+	 *
+	 * @param aes The AESService whose key will be used.
+	 * @param segmentSize The number of plaintext bytes in each segment.
+	 */
+	public SeekableAESService(AESService aes, int segmentSize)
+	{
+		if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE)
+		{
+			throw new IllegalArgumentException("Segment size must be between 1 and " + MAX_SEGMENT_SIZE + ".");
+		}
+		this.key = AESCiphers.key(aes.getAesKey());
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * Encrypt a stream into the seekable layout.
+	 *
+	 * @param instream The stream to encrypt.
+	 * @param outstream The stream the encrypted file is written to.
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public void encode(InputStream instream, OutputStream outstream) throws IOException, GeneralSecurityException
+	{
+		final byte[] prefix = new byte[PREFIX_SIZE];
+		AESCiphers.RANDOM.nextBytes(prefix);
+		final byte[] header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(segmentSize).put(prefix).array();
+		outstream.write(header);
+
+		final Cipher cipher = AESCiphers.getInstance(AESGCMService.GCM);
+		final byte[] segment = new byte[segmentSize];
+		final byte[] output = new byte[segmentSize + AESGCMService.TAG_SIZE];
+		long length = 0;
+		int index = 0;
+		int n;
+		while ((n = Streams.readFully(instream, segment)) > 0)
+		{
+			if (index == Integer.MAX_VALUE)
+			{
+				throw new IOException("Stream is too long.");
+			}
+			cipher.init(Cipher.ENCRYPT_MODE, key, nonce(prefix, index));
+			outstream.write(output, 0, cipher.doFinal(segment, 0, n, output, 0));
+			length += n;
+			index++;
+			if (n < segmentSize)
+			{
+				break;
+			}
+		}
+
+		final byte[] trailer = ByteBuffer.allocate(8 + 4).putLong(length).putInt(index).array();
+		cipher.init(Cipher.ENCRYPT_MODE, key, nonce(prefix, TRAILER_INDEX));
+		cipher.updateAAD(header);
+		outstream.write(cipher.doFinal(trailer));
+		outstream.flush();
+	}
+
+	/**
+	 * Open a file written by encode for random access. The trailer is
+	 * verified here; segments are verified as they are read.
+	 *
+	 * @param path The encrypted file.
+	 * @return A read-only channel over the plaintext.
+	 * @throws IOException If the file is not in this layout or was truncated.
+	 * @throws GeneralSecurityException If the trailer was tampered with.
+	 */
+	public SeekableAESChannel open(Path path) throws IOException, GeneralSecurityException
+	{
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try
+		{
+			return new SeekableAESChannel(channel, key);
+		}
+		catch (IOException | GeneralSecurityException | RuntimeException ex)
+		{
+			channel.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * The nonce of a segment: the file prefix and the segment number.
+	 */
+	static GCMParameterSpec nonce(byte[] prefix, int index)
+	{
+		ByteBuffer nonce = ByteBuffer.allocate(AESGCMService.NONCE_SIZE);
+		nonce.put(prefix).putInt(index);
+		return new GCMParameterSpec(AESGCMService.TAG_SIZE * 8, nonce.array());
+	}
+}
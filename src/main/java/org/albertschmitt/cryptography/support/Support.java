@@ -26,10 +26,17 @@ package org.albertschmitt.cryptography.support;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
 
 /**
  * Various methods to support the example classes.
@@ -37,6 +44,63 @@ import java.nio.file.StandardOpenOption;
 public class Support
 {
 
+	/**
+	 * What generated test data looks like to a compressor.
+	 */
+	public enum Content
+	{
+		/**
+		 * Lorem words, compresses to roughly a third of its size.
+		 */
+		TEXT,
+		/**
+		 * Random bytes, does not compress at all.
+		 */
+		RANDOM,
+		/**
+		 * Text and random blocks in roughly equal measure.
+		 */
+		MIXED
+	}
+
+	/**
+	 * Generated data is produced and written one block at a time.
+	 */
+	private static final int BLOCK_SIZE = 64 * 1024;
+	/**
+	 * A sparse file alternates data regions and holes of this size.
+	 */
+	private static final int SPARSE_REGION = 1024 * 1024;
+
+	/**
+	 * The lorem text testData writes, also the word list for generated text.
+	 */
+	private static final String[] LOREM =
+	{
+		"Lorem ipsum dolor sit amet, duo cu nobis epicurei hendrerit, mei agam elit an. Ea facer urbanitas his, voluptua luptatum corrumpit ea vis. An illum persecuti eos. Qui soluta vivendo et, quo meis vocent ex. Et vim vocent dissentiunt.\r\n",
+		"Alia partem nam cu, at sed etiam ceteros sententiae, placerat perpetua scribentur ex per. Antiopam postulant assueverit ex eum, eu vim aeterno offendit molestiae, pri iisque pertinacia at. In vide platonem his, lucilius eleifend ad his. Duo ullum placerat ad, duo et civibus luptatum. Urbanitas reformidans at per, an solum civibus inciderint sed. Pro debet zril omnesque no, nisl adhuc summo sed ad.\r\n",
+		"Sit paulo semper et, ad qui labore senserit definiebas, vidisse adipisci ad mei. Affert vivendo minimum vis eu. Per et aeque equidem, cu wisi incorrupte concludaturque quo. Ius ad stet reformidans.\r\n",
+		"Mei at delenit efficiantur, ei dolorum vocibus facilisi mea, per ad erant quaeque copiosae. Mel in liber interpretaris, ex sed elit suscipiantur. Ad nisl animal aliquid eum. Integre senserit reformidans qui et, labores epicuri constituam at nam. Euismod consetetur id eam, doctus constituam his et, elit legere eu sed.\r\n",
+		"In pro eirmod tibique indoctum, ex mel quaestio similique. Duo ad magna ancillae expetendis. Eos ut purto eirmod voluptua. At doming sententiae vis. Nibh percipit vel et, ne duo duis labitur aliquid.\r\n",
+		"Adhuc zril pri ne, verear ullamcorper ut vim. Et tollit facilis quaestio mea, aeque probatus an vis, ex sed choro antiopam. Quis simul evertitur quo ad, an quo primis melius. Nisl tale mei id, ne wisi dissentiet voluptatibus mel, usu offendit indoctum ei. Est at nobis insolens posidonium.\r\n",
+		"Et mel adhuc erroribus. Eos impetus urbanitas repudiandae ut, ne mea illum tollit pertinax, lorem quando at sit. Ex est option denique fabellas, habeo dolorum recteque id eam. Nam quodsi menandri et, te sit tamquam eruditi ornatus.\r\n",
+		"Quo eius nihil electram ea, sea tota ipsum postulant id. Diam impedit veritus in pro, sea persius detracto conceptam ne, mei id enim solum dicit. Agam fugit epicurei at mea, eu eos decore aliquid. Homero essent timeam ex has, ius et quod quaeque. Ad vocent tamquam euripidis has, qui everti deleniti ad, stet modus detraxit ut sea.\r\n",
+		"Novum melius mentitum sea ei, mea no affert deserunt urbanitas, vim tation ridens vocent at. Ad fugit propriae epicurei qui. Mea te reque porro. Per in delectus oporteat postulant.\r\n",
+		"Sanctus intellegam pri in, per dicta maluisset ad. At eos aliquid accumsan, modus nulla tritani pro et. No duo partem sanctus accommodare, id his putent voluptua rationibus. Usu aliquid expetenda adolescens te. Quo sint dicat constituam et. Nec legendos sententiae ei, regione delectus sed at, sit homero appetere adversarium eu.\r\n",
+		"Altera dolorum urbanitas nam ne, noluisse postulant mei et. Cibo dicam elaboraret vis te, cu vix hinc perfecto moderatius. Novum euismod sapientem at qui, molestie quaestio ex eam. Atqui possit vis no, sit ex inermis abhorreant. Maiorum vivendum te sed, enim nemore signiferumque mei ex, no postea diceret moderatius cum. Sed alia lorem scaevola ne, iuvaret accusamus consulatu nam id.\r\n",
+		"Mel at veri errem sensibus, aliquid lucilius assueverit vim at. Mollis adversarium ei sed, eum an epicuri scaevola scripserit, paulo quodsi qui ad. At sit natum iriure singulis, pro quis verterem quaestio te. Commodo propriae definiebas cu nec. Vel at primis quodsi, per veniam bonorum scaevola ne.\r\n",
+		"Te tibique scriptorem accommodare usu. Ad possim quaerendum mel. Id quidam explicari necessitatibus nam. Ex vide dolor omittam duo, quo vocent diceret verterem no. Usu diam copiosae oportere ea, in noluisse persecuti eos.\r\n",
+		"Ut mei partem signiferumque, in sed euripidis reprehendunt, ex eum consetetur adipiscing. Mei at mollis virtute, ex mea saepe facilisis. Ferri inciderint eloquentiam vis te, eam congue maluisset no, nostro forensibus maiestatis cu mel. Ut quo tation platonem volutpat. Ei sed purto dolorum legendos, ea unum decore per.\r\n",
+		"Eu eam erant deleniti, te qui quod nominati. Mel rebum homero ut, enim appareat nominati usu ex. Inani nulla percipitur est an. Eam at tempor pericula scriptorem. Ut vis vide latine.\r\n",
+		"Ei eam congue exerci accommodare, facilisi consequuntur vix no. Ea solet graece pertinax vel, liber accommodare id pri, ex nostro perpetua laboramus vel. In brute sadipscing cum. Vel ei tale feugiat invenire. Ex est audire conclusionemque.\r\n",
+		"Et maiorum efficiantur per. Has id maluisset patrioque omittantur, eu quem tollit assueverit vel. Eu nec utamur conceptam, has maiorum appetere instructior ad. Quo eu nisl noster copiosae.\r\n",
+		"Scripta pertinax honestatis ne eum. Usu at erat everti phaedrum, at vis modo aperiri. Cetero vivendo quaerendum eam ad. Dico aliquando eu cum, putant inciderint vix eu.\r\n",
+		"At vis lorem conceptam, ad pri vero dicat elaboraret, ad nobis imperdiet constituto duo. Bonorum tacimates et duo, mazim causae propriae sea ne. Mucius tibique argumentum mea eu. Eu usu detracto ocurreret. Id tation libris philosophia pri, vix id corpora democritum.\r\n",
+		"Nam labores dignissim ut. An pro noluisse erroribus efficiendi, an has nisl malis philosophia. Autem electram democritum ad usu, per paulo propriae ea. Veri utamur in eos, summo debet decore ne \r\n"
+	};
+
+	private static final byte[][] WORDS = words();
+
 	/**
 	 * Create a data file for testing.
 	 *
@@ -48,26 +112,10 @@ public class Support
 		if (!new File(filename).exists())
 		{
 			StringBuilder sb = new StringBuilder();
-			sb.append("Lorem ipsum dolor sit amet, duo cu nobis epicurei hendrerit, mei agam elit an. Ea facer urbanitas his, voluptua luptatum corrumpit ea vis. An illum persecuti eos. Qui soluta vivendo et, quo meis vocent ex. Et vim vocent dissentiunt.\r\n");
-			sb.append("Alia partem nam cu, at sed etiam ceteros sententiae, placerat perpetua scribentur ex per. Antiopam postulant assueverit ex eum, eu vim aeterno offendit molestiae, pri iisque pertinacia at. In vide platonem his, lucilius eleifend ad his. Duo ullum placerat ad, duo et civibus luptatum. Urbanitas reformidans at per, an solum civibus inciderint sed. Pro debet zril omnesque no, nisl adhuc summo sed ad.\r\n");
-			sb.append("Sit paulo semper et, ad qui labore senserit definiebas, vidisse adipisci ad mei. Affert vivendo minimum vis eu. Per et aeque equidem, cu wisi incorrupte concludaturque quo. Ius ad stet reformidans.\r\n");
-			sb.append("Mei at delenit efficiantur, ei dolorum vocibus facilisi mea, per ad erant quaeque copiosae. Mel in liber interpretaris, ex sed elit suscipiantur. Ad nisl animal aliquid eum. Integre senserit reformidans qui et, labores epicuri constituam at nam. Euismod consetetur id eam, doctus constituam his et, elit legere eu sed.\r\n");
-			sb.append("In pro eirmod tibique indoctum, ex mel quaestio similique. Duo ad magna ancillae expetendis. Eos ut purto eirmod voluptua. At doming sententiae vis. Nibh percipit vel et, ne duo duis labitur aliquid.\r\n");
-			sb.append("Adhuc zril pri ne, verear ullamcorper ut vim. Et tollit facilis quaestio mea, aeque probatus an vis, ex sed choro antiopam. Quis simul evertitur quo ad, an quo primis melius. Nisl tale mei id, ne wisi dissentiet voluptatibus mel, usu offendit indoctum ei. Est at nobis insolens posidonium.\r\n");
-			sb.append("Et mel adhuc erroribus. Eos impetus urbanitas repudiandae ut, ne mea illum tollit pertinax, lorem quando at sit. Ex est option denique fabellas, habeo dolorum recteque id eam. Nam quodsi menandri et, te sit tamquam eruditi ornatus.\r\n");
-			sb.append("Quo eius nihil electram ea, sea tota ipsum postulant id. Diam impedit veritus in pro, sea persius detracto conceptam ne, mei id enim solum dicit. Agam fugit epicurei at mea, eu eos decore aliquid. Homero essent timeam ex has, ius et quod quaeque. Ad vocent tamquam euripidis has, qui everti deleniti ad, stet modus detraxit ut sea.\r\n");
-			sb.append("Novum melius mentitum sea ei, mea no affert deserunt urbanitas, vim tation ridens vocent at. Ad fugit propriae epicurei qui. Mea te reque porro. Per in delectus oporteat postulant.\r\n");
-			sb.append("Sanctus intellegam pri in, per dicta maluisset ad. At eos aliquid accumsan, modus nulla tritani pro et. No duo partem sanctus accommodare, id his putent voluptua rationibus. Usu aliquid expetenda adolescens te. Quo sint dicat constituam et. Nec legendos sententiae ei, regione delectus sed at, sit homero appetere adversarium eu.\r\n");
-			sb.append("Altera dolorum urbanitas nam ne, noluisse postulant mei et. Cibo dicam elaboraret vis te, cu vix hinc perfecto moderatius. Novum euismod sapientem at qui, molestie quaestio ex eam. Atqui possit vis no, sit ex inermis abhorreant. Maiorum vivendum te sed, enim nemore signiferumque mei ex, no postea diceret moderatius cum. Sed alia lorem scaevola ne, iuvaret accusamus consulatu nam id.\r\n");
-			sb.append("Mel at veri errem sensibus, aliquid lucilius assueverit vim at. Mollis adversarium ei sed, eum an epicuri scaevola scripserit, paulo quodsi qui ad. At sit natum iriure singulis, pro quis verterem quaestio te. Commodo propriae definiebas cu nec. Vel at primis quodsi, per veniam bonorum scaevola ne.\r\n");
-			sb.append("Te tibique scriptorem accommodare usu. Ad possim quaerendum mel. Id quidam explicari necessitatibus nam. Ex vide dolor omittam duo, quo vocent diceret verterem no. Usu diam copiosae oportere ea, in noluisse persecuti eos.\r\n");
-			sb.append("Ut mei partem signiferumque, in sed euripidis reprehendunt, ex eum consetetur adipiscing. Mei at mollis virtute, ex mea saepe facilisis. Ferri inciderint eloquentiam vis te, eam congue maluisset no, nostro forensibus maiestatis cu mel. Ut quo tation platonem volutpat. Ei sed purto dolorum legendos, ea unum decore per.\r\n");
-			sb.append("Eu eam erant deleniti, te qui quod nominati. Mel rebum homero ut, enim appareat nominati usu ex. Inani nulla percipitur est an. Eam at tempor pericula scriptorem. Ut vis vide latine.\r\n");
-			sb.append("Ei eam congue exerci accommodare, facilisi consequuntur vix no. Ea solet graece pertinax vel, liber accommodare id pri, ex nostro perpetua laboramus vel. In brute sadipscing cum. Vel ei tale feugiat invenire. Ex est audire conclusionemque.\r\n");
-			sb.append("Et maiorum efficiantur per. Has id maluisset patrioque omittantur, eu quem tollit assueverit vel. Eu nec utamur conceptam, has maiorum appetere instructior ad. Quo eu nisl noster copiosae.\r\n");
-			sb.append("Scripta pertinax honestatis ne eum. Usu at erat everti phaedrum, at vis modo aperiri. Cetero vivendo quaerendum eam ad. Dico aliquando eu cum, putant inciderint vix eu.\r\n");
-			sb.append("At vis lorem conceptam, ad pri vero dicat elaboraret, ad nobis imperdiet constituto duo. Bonorum tacimates et duo, mazim causae propriae sea ne. Mucius tibique argumentum mea eu. Eu usu detracto ocurreret. Id tation libris philosophia pri, vix id corpora democritum.\r\n");
-			sb.append("Nam labores dignissim ut. An pro noluisse erroribus efficiendi, an has nisl malis philosophia. Autem electram democritum ad usu, per paulo propriae ea. Veri utamur in eos, summo debet decore ne \r\n");
+			for (String line : LOREM)
+			{
+				sb.append(line);
+			}
 
 			// Always use UTF-8 when converting to/from String and byte[].
 			byte[] data = sb.toString().getBytes("UTF-8");
@@ -75,4 +123,221 @@ public class Support
 			Files.write(path, data, StandardOpenOption.CREATE);
 		}
 	}
+
+	/**
+	 * Create a data file of any size for benchmarks and soak tests. The file
+	 * is written a block at a time, so even files of many GB need no more than
+	 * a few KB of memory, and the same size, seed and content always give the
+	 * same bytes. Any existing file is replaced.
+	 *
+	 * @param filename The name of the file to create.
+	 * @param size The size of the file in bytes.
+	 * @param seed The seed the content is generated from.
+	 * @param content What the content looks like to a compressor.
+	 * @throws IOException
+	 */
+	public static void testData(String filename, long size, long seed, Content content) throws IOException
+	{
+		testData(filename, size, seed, content, false);
+	}
+
+	/**
+	 * Create a data file of any size for benchmarks and soak tests, optionally
+	 * as a sparse file. A sparse file alternates 1 MB of generated data with a
+	 * 1 MB hole that reads back as zeros, so it takes about half its size on
+	 * file systems that support sparse files.
+	 *
+	 * @param filename The name of the file to create.
+	 * @param size The size of the file in bytes.
+	 * @param seed The seed the content is generated from.
+	 * @param content What the content of the data regions looks like to a
+	 * compressor.
+	 * @param sparse True to leave every other region as a hole.
+	 * @throws IOException
+	 */
+	public static void testData(String filename, long size, long seed, Content content, boolean sparse) throws IOException
+	{
+		if (size < 0)
+		{
+			throw new IllegalArgumentException("Size must not be negative.");
+		}
+		final Set<StandardOpenOption> options = EnumSet.of(StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		if (sparse)
+		{
+			options.add(StandardOpenOption.SPARSE);
+		}
+		try (InputStream instream = testDataStream(size, seed, content);
+				SeekableByteChannel channel = Files.newByteChannel(Paths.get(filename), options))
+		{
+			final byte[] block = new byte[BLOCK_SIZE];
+			final ByteBuffer buffer = ByteBuffer.wrap(block);
+			long position = 0;
+			while (position < size)
+			{
+				long regionEnd = sparse ? Math.min(size, position + SPARSE_REGION) : size;
+				if (sparse && (position / SPARSE_REGION) % 2 == 1)
+				{
+					position = regionEnd;
+					continue;
+				}
+				channel.position(position);
+				while (position < regionEnd)
+				{
+					int n = instream.read(block, 0, (int) Math.min(BLOCK_SIZE, regionEnd - position));
+					buffer.clear().limit(n);
+					while (buffer.hasRemaining())
+					{
+						channel.write(buffer);
+					}
+					position += n;
+				}
+			}
+			if (channel.size() < size)
+			{
+				// The file ends in a hole, so write its last byte to give it its full length.
+				channel.position(size - 1);
+				channel.write(ByteBuffer.allocate(1));
+			}
+		}
+	}
+
+	/**
+	 * Generated test data as a stream, for benchmarks that should not touch
+	 * the disk. The same size, seed and content always give the same bytes.
+	 *
+	 * @param size The number of bytes the stream returns.
+	 * @param seed The seed the content is generated from.
+	 * @param content What the content looks like to a compressor.
+	 * @return The stream.
+	 */
+	public static InputStream testDataStream(long size, long seed, Content content)
+	{
+		if (size < 0)
+		{
+			throw new IllegalArgumentException("Size must not be negative.");
+		}
+		return new GeneratorInputStream(size, seed, content);
+	}
+
+	private static byte[][] words()
+	{
+		StringBuilder sb = new StringBuilder();
+		for (String line : LOREM)
+		{
+			sb.append(line);
+		}
+		String[] split = sb.toString().trim().split("\\s+");
+		byte[][] words = new byte[split.length][];
+		for (int i = 0; i < split.length; i++)
+		{
+			words[i] = split[i].getBytes(StandardCharsets.UTF_8);
+		}
+		return words;
+	}
+
+	/**
+	 * Generates the test data one block at a time from a seeded Random.
+	 */
+	private static class GeneratorInputStream extends InputStream
+	{
+
+		private final Random random;
+		private final Content content;
+		private final byte[] block = new byte[BLOCK_SIZE];
+		private long remaining;
+		private int position = 0;
+		private int limit = 0;
+
+		GeneratorInputStream(long size, long seed, Content content)
+		{
+			this.random = new Random(seed);
+			this.content = content;
+			this.remaining = size;
+		}
+
+		@Override
+		public int read() throws IOException
+		{
+			if (position == limit && !fill())
+			{
+				return -1;
+			}
+			return block[position++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException
+		{
+			if (len == 0)
+			{
+				return 0;
+			}
+			if (position == limit && !fill())
+			{
+				return -1;
+			}
+			int n = Math.min(len, limit - position);
+			System.arraycopy(block, position, b, off, n);
+			position += n;
+			return n;
+		}
+
+		@Override
+		public int available()
+		{
+			return limit - position;
+		}
+
+		/**
+		 * Generate the next block, or return false at the end of the data.
+		 */
+		private boolean fill()
+		{
+			if (remaining == 0)
+			{
+				return false;
+			}
+			limit = (int) Math.min(BLOCK_SIZE, remaining);
+			position = 0;
+			remaining -= limit;
+
+			boolean text = content == Content.TEXT || (content == Content.MIXED && random.nextBoolean());
+			if (text)
+			{
+				fillText();
+			}
+			else
+			{
+				// nextBytes always fills the whole block, so the bytes depend only on the seed.
+				random.nextBytes(block);
+			}
+			return true;
+		}
+
+		/**
+		 * Random lorem words, with a sentence or a line ending now and then.
+		 */
+		private void fillText()
+		{
+			int count = 0;
+			while (count < limit)
+			{
+				byte[] word = WORDS[random.nextInt(WORDS.length)];
+				int n = Math.min(word.length, limit - count);
+				System.arraycopy(word, 0, block, count, n);
+				count += n;
+				int r = random.nextInt(16);
+				if (r == 0 && count + 2 <= limit)
+				{
+					block[count++] = '\r';
+					block[count++] = '\n';
+				}
+				else if (count < limit)
+				{
+					block[count++] = ' ';
+				}
+			}
+		}
+	}
 }